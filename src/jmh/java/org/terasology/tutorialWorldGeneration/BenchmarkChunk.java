@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+
+import java.util.Arrays;
+
+/**
+ * A chunk covering an arbitrary region, which stores the blocks set by rasterizers in a plain array, so that setting a
+ * block neither boxes nor allocates. Unset blocks are {@link BenchmarkWorld#AIR}.
+ * <p>
+ * Only the block accessors, the position and the size are backed by the array; the data inherited from
+ * {@link ChunkImpl}, which is sized for the engine's chunks, is left unused.
+ */
+final class BenchmarkChunk extends ChunkImpl {
+
+    private final BlockRegion region;
+    private final Vector3i position;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final Block[] blocks;
+
+    BenchmarkChunk(BlockRegionc region, Vector3ic position) {
+        // the block manager is only used by the block accessors, which are overridden
+        super(position, null, new ExtraBlockDataManager());
+        this.region = new BlockRegion(region);
+        this.position = new Vector3i(position);
+        sizeX = region.getSizeX();
+        sizeY = region.getSizeY();
+        sizeZ = region.getSizeZ();
+        blocks = new Block[sizeX * sizeY * sizeZ];
+        Arrays.fill(blocks, BenchmarkWorld.AIR);
+    }
+
+    @Override
+    public Block getBlock(int x, int y, int z) {
+        return blocks[getIndex(x, y, z)];
+    }
+
+    @Override
+    public Block getBlock(Vector3ic pos) {
+        return getBlock(pos.x(), pos.y(), pos.z());
+    }
+
+    @Override
+    public Block setBlock(int x, int y, int z, Block block) {
+        int index = getIndex(x, y, z);
+        Block previous = blocks[index];
+        blocks[index] = block;
+        return previous;
+    }
+
+    @Override
+    public Block setBlock(Vector3ic pos, Block block) {
+        return setBlock(pos.x(), pos.y(), pos.z(), block);
+    }
+
+    @Override
+    public BlockRegionc getRegion() {
+        return region;
+    }
+
+    @Override
+    public Vector3ic getPosition() {
+        return position;
+    }
+
+    @Override
+    public Vector3i getPosition(Vector3i dest) {
+        return dest.set(position);
+    }
+
+    @Override
+    public int getChunkSizeX() {
+        return sizeX;
+    }
+
+    @Override
+    public int getChunkSizeY() {
+        return sizeY;
+    }
+
+    @Override
+    public int getChunkSizeZ() {
+        return sizeZ;
+    }
+
+    @Override
+    public String toString() {
+        return "BenchmarkChunk" + region;
+    }
+
+    private int getIndex(int x, int y, int z) {
+        return x + sizeX * (y + sizeY * z);
+    }
+}
@@ -0,0 +1,130 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.Facet;
+import org.terasology.engine.world.generation.FacetBorder;
+import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.Requires;
+import org.terasology.engine.world.generation.Updates;
+import org.terasology.engine.world.generation.WorldFacet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A stand-in for the engine's region implementations, which need the whole facet provider chain of a world builder.
+ * It simply stores the facets set by the providers. The border of each facet is derived from the annotations of the
+ * providers and rasterizers in the same way the world builder does, so facets are exactly as large as in the game.
+ */
+public class BenchmarkRegion implements GeneratingRegion, Region {
+
+    private static final Border3D NO_BORDER = new Border3D(0, 0, 0);
+
+    private final BlockRegion region;
+    private final Map<Class<? extends WorldFacet>, Border3D> borders;
+    private final Map<Class<? extends WorldFacet>, WorldFacet> facets = new HashMap<>();
+
+    /**
+     * @param borders the border of each facet, see {@link #computeBorders(List, List)}
+     */
+    public BenchmarkRegion(BlockRegion region, Map<Class<? extends WorldFacet>, Border3D> borders) {
+        this.region = region;
+        this.borders = borders;
+    }
+
+    /**
+     * Computes the border every facet needs so that each consumer gets the border it requests around the facets it
+     * produces itself. The border of a facet is the largest requested by any provider or rasterizer requiring or
+     * updating it, added to the border of the facets that consumer produces or updates.
+     *
+     * @param providerClasses the providers, in the order the world builder runs them
+     * @param rasterizerClasses the rasterizers
+     */
+    public static Map<Class<? extends WorldFacet>, Border3D> computeBorders(List<Class<?>> providerClasses,
+                                                                           List<Class<?>> rasterizerClasses) {
+        Map<Class<? extends WorldFacet>, Border3D> borders = new HashMap<>();
+        for (Class<?> rasterizerClass : rasterizerClasses) {
+            addRequirements(rasterizerClass, NO_BORDER, borders);
+        }
+        // consumers run after their producers, so in reverse order a provider's own facets are final when it is visited
+        List<Class<?>> reversed = new ArrayList<>(providerClasses);
+        Collections.reverse(reversed);
+        for (Class<?> providerClass : reversed) {
+            Border3D ownBorder = NO_BORDER;
+            Produces produces = providerClass.getAnnotation(Produces.class);
+            if (produces != null) {
+                for (Class<? extends WorldFacet> facet : produces.value()) {
+                    ownBorder = max(ownBorder, borders.getOrDefault(facet, NO_BORDER));
+                }
+            }
+            Updates updates = providerClass.getAnnotation(Updates.class);
+            if (updates != null) {
+                for (Facet facet : updates.value()) {
+                    ownBorder = max(ownBorder, borders.getOrDefault(facet.value(), NO_BORDER));
+                }
+                for (Facet facet : updates.value()) {
+                    borders.put(facet.value(), max(borders.getOrDefault(facet.value(), NO_BORDER),
+                            extend(ownBorder, facet.border())));
+                }
+            }
+            addRequirements(providerClass, ownBorder, borders);
+        }
+        return borders;
+    }
+
+    private static void addRequirements(Class<?> consumerClass, Border3D ownBorder,
+                                        Map<Class<? extends WorldFacet>, Border3D> borders) {
+        Requires requires = consumerClass.getAnnotation(Requires.class);
+        if (requires == null) {
+            return;
+        }
+        for (Facet facet : requires.value()) {
+            borders.put(facet.value(), max(borders.getOrDefault(facet.value(), NO_BORDER),
+                    extend(ownBorder, facet.border())));
+        }
+    }
+
+    private static Border3D extend(Border3D border, FacetBorder extension) {
+        return new Border3D(border.getTop() + extension.top(), border.getBottom() + extension.bottom(),
+                border.getSides() + extension.sides());
+    }
+
+    private static Border3D max(Border3D a, Border3D b) {
+        return new Border3D(Math.max(a.getTop(), b.getTop()), Math.max(a.getBottom(), b.getBottom()),
+                Math.max(a.getSides(), b.getSides()));
+    }
+
+    @Override
+    public BlockRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public <T extends WorldFacet> T getRegionFacet(Class<T> type) {
+        return type.cast(facets.get(type));
+    }
+
+    @Override
+    public <T extends WorldFacet> void setRegionFacet(Class<T> type, T facet) {
+        facets.put(type, facet);
+    }
+
+    @Override
+    public Border3D getBorderForFacet(Class<? extends WorldFacet> type) {
+        return borders.getOrDefault(type, NO_BORDER);
+    }
+
+    @Override
+    public <T extends WorldFacet> T getFacet(Class<T> type) {
+        return getRegionFacet(type);
+    }
+}
@@ -0,0 +1,145 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3i;
+import org.terasology.biomesAPI.BiomeRegistry;
+import org.terasology.core.world.generator.facetProviders.SeaLevelProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.tutorialWorldGenerationBiomes.BiomeColumnProvider;
+import org.terasology.tutorialWorldGenerationBiomes.BiomeRasterizer;
+import org.terasology.tutorialWorldGenerationLakes.LakesProvider;
+import org.terasology.tutorialWorldGenerationLakes.LakesRasterizer;
+import org.terasology.tutorialWorldGenerationMesas.MesaProvider;
+import org.terasology.tutorialWorldGenerationTrees.TreesProvider;
+import org.terasology.tutorialWorldGenerationTrees.TreesRasterizer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the inputs of the benchmarks without an engine: regions filled by the facet providers of the tutorial world,
+ * array-backed chunks that only store the blocks set by rasterizers, and rasterizers initialized with placeholder
+ * blocks.
+ */
+final class BenchmarkWorld {
+
+    static final long SEED = 0x5EED;
+
+    /**
+     * The placeholder for blocks that were not set.
+     */
+    static final Block AIR = new Block();
+
+    private BenchmarkWorld() {
+    }
+
+    /**
+     * @return a region spanning the given number of columns in both horizontal directions, starting at the origin
+     */
+    static BlockRegion region(int size, int minY, int sizeY) {
+        return new BlockRegion(0, minY, 0, size - 1, minY + sizeY - 1, size - 1);
+    }
+
+    /**
+     * @param plugins whether the providers of the lakes, mesas and trees plugins are included
+     * @return the providers of the tutorial world, in the order the world builder runs them
+     */
+    static List<FacetProvider> providers(boolean plugins) {
+        List<FacetProvider> providers = new ArrayList<>();
+        providers.add(new SurfaceProvider());
+        providers.add(new SeaLevelProvider(0));
+        providers.add(new MountainsProvider());
+        if (plugins) {
+            providers.add(new LakesProvider());
+            providers.add(new MesaProvider());
+        }
+        providers.add(new ElevationEnvelopeProvider());
+        providers.add(new SurfacesProvider());
+        providers.add(new ColumnSurfacesProvider());
+        providers.add(new HouseProvider());
+        providers.add(new BiomeColumnProvider());
+        if (plugins) {
+            providers.add(new TreesProvider());
+        }
+        return providers;
+    }
+
+    /**
+     * @param plugins whether the rasterizers of the lakes and trees plugins are included
+     * @return the classes of the rasterizers of the tutorial world
+     */
+    static List<Class<?>> rasterizerClasses(boolean plugins) {
+        List<Class<?>> rasterizers = new ArrayList<>(List.of(TutorialWorldRasterizer.class, HouseRasterizer.class,
+                BiomeRasterizer.class));
+        if (plugins) {
+            rasterizers.add(LakesRasterizer.class);
+            rasterizers.add(TreesRasterizer.class);
+        }
+        return rasterizers;
+    }
+
+    /**
+     * Creates an empty region with the facet borders of the tutorial world.
+     *
+     * @param plugins whether the borders requested by the plugins are included
+     */
+    static BenchmarkRegion newRegion(BlockRegion region, boolean plugins) {
+        List<Class<?>> providerClasses = new ArrayList<>();
+        for (FacetProvider provider : providers(plugins)) {
+            providerClasses.add(provider.getClass());
+        }
+        return new BenchmarkRegion(region, BenchmarkRegion.computeBorders(providerClasses, rasterizerClasses(plugins)));
+    }
+
+    /**
+     * Runs the providers of the tutorial world on the given region, in the order the world builder would.
+     *
+     * @param plugins whether the providers of the lakes, mesas and trees plugins are included
+     */
+    static BenchmarkRegion generate(BlockRegion region, boolean plugins) {
+        BenchmarkRegion benchmarkRegion = newRegion(region, plugins);
+        for (FacetProvider provider : providers(plugins)) {
+            provider.setSeed(SEED);
+            provider.process(benchmarkRegion);
+        }
+        return benchmarkRegion;
+    }
+
+    /**
+     * Creates a chunk covering the given region, see {@link BenchmarkChunk}.
+     */
+    static Chunk newChunk(BlockRegionc region) {
+        Vector3i position = new Vector3i(Math.floorDiv(region.minX(), region.getSizeX()),
+                Math.floorDiv(region.minY(), region.getSizeY()), Math.floorDiv(region.minZ(), region.getSizeZ()));
+        return new BenchmarkChunk(region, position);
+    }
+
+    /**
+     * Creates a biome registry that discards all biome assignments.
+     */
+    static BiomeRegistry newBiomeRegistry() {
+        return (BiomeRegistry) Proxy.newProxyInstance(BiomeRegistry.class.getClassLoader(),
+                new Class<?>[]{BiomeRegistry.class}, (proxy, method, args) -> null);
+    }
+
+    /**
+     * Sets a private field of a rasterizer, in place of its {@code initialize()} which needs the engine's registries.
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass(), e);
+        }
+    }
+}
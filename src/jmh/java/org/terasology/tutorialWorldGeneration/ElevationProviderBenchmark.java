@@ -0,0 +1,148 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.core.world.generator.facetProviders.SeaLevelProvider;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+import org.terasology.tutorialWorldGenerationLakes.LakesProvider;
+import org.terasology.tutorialWorldGenerationMesas.MesaProvider;
+import org.terasology.tutorialWorldGenerationZones.MountainSurfaceProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the providers producing and updating the {@link ElevationFacet}, for regions of {@code size}&times;{@code
+ * size} columns (plus the benchmark border). The same region is processed over and over, so {@code tileCache}
+ * decides what the cached providers measure:
+ * <ul>
+ *     <li>{@code warm}: the tiles stay cached between calls, so only hits are measured</li>
+ *     <li>{@code cold}: the caches are emptied before every call, so every tile is a miss that is sampled and
+ *     inserted, as for a region generated for the first time</li>
+ *     <li>{@code off}: the caches are disabled and every call samples the noise of the region directly</li>
+ * </ul>
+ * <p>
+ * Run with {@code -prof gc} to also report the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElevationProviderBenchmark {
+
+    @Param({"32", "64", "128"})
+    public int size;
+
+    @Param({"warm", "cold", "off"})
+    public String tileCache;
+
+    private BenchmarkRegion region;
+    private float[] elevation;
+    private float[] mountainousElevation;
+
+    private SurfaceProvider surfaceProvider;
+    private MountainsProvider mountainsProvider;
+    private LakesProvider lakesProvider;
+    private MesaProvider mesaProvider;
+    private MountainSurfaceProvider mountainSurfaceProvider;
+
+    @Setup
+    public void setup() {
+        int tileCacheSize = "off".equals(tileCache) ? 0 : 1024;
+        surfaceProvider = new SurfaceProvider();
+        surfaceProvider.setTileCacheSize(tileCacheSize);
+        mountainsProvider = new MountainsProvider();
+        mountainsProvider.setTileCacheSize(tileCacheSize);
+        lakesProvider = new LakesProvider();
+        mesaProvider = new MesaProvider();
+        mountainSurfaceProvider = new MountainSurfaceProvider();
+        SeaLevelProvider seaLevelProvider = new SeaLevelProvider(0);
+
+        FacetProvider[] providers = {surfaceProvider, mountainsProvider, lakesProvider, mesaProvider,
+                mountainSurfaceProvider, seaLevelProvider};
+        for (FacetProvider provider : providers) {
+            provider.setSeed(BenchmarkWorld.SEED);
+        }
+
+        region = BenchmarkWorld.newRegion(BenchmarkWorld.region(size, 0, 64), true);
+        seaLevelProvider.process(region);
+        surfaceProvider.process(region);
+        mountainsProvider.process(region);
+        elevation = region.getRegionFacet(ElevationFacet.class).getInternal().clone();
+
+        // the tutorial terrain rarely reaches the zoned world's mountain height, so raise it to always hit that case
+        mountainousElevation = elevation.clone();
+        for (int i = 0; i < mountainousElevation.length; i++) {
+            mountainousElevation[i] += MountainSurfaceProvider.MIN_MOUNTAIN_HEIGHT;
+        }
+    }
+
+    /**
+     * Empties the tile caches for the {@code cold} runs. Setting the seed again replaces them with empty ones.
+     */
+    @Setup(Level.Invocation)
+    public void emptyTileCaches() {
+        if ("cold".equals(tileCache)) {
+            surfaceProvider.setSeed(BenchmarkWorld.SEED);
+            mountainsProvider.setSeed(BenchmarkWorld.SEED);
+        }
+    }
+
+    @Benchmark
+    public float[] surface() {
+        surfaceProvider.process(region);
+        return region.getRegionFacet(ElevationFacet.class).getInternal();
+    }
+
+    @Benchmark
+    public float[] mountains() {
+        return update(mountainsProvider, elevation);
+    }
+
+    @Benchmark
+    public float[] layeredElevation() {
+        surfaceProvider.process(region);
+        mountainsProvider.process(region);
+        return region.getRegionFacet(ElevationFacet.class).getInternal();
+    }
+
+    @Benchmark
+    public float[] lakes() {
+        return update(lakesProvider, elevation);
+    }
+
+    @Benchmark
+    public float[] mesas() {
+        return update(mesaProvider, elevation);
+    }
+
+    @Benchmark
+    public float[] mountainSurface() {
+        return update(mountainSurfaceProvider, mountainousElevation);
+    }
+
+    /**
+     * Resets the elevation before running a provider that updates it in place, so that every call sees the same input.
+     */
+    private float[] update(FacetProvider provider, float[] input) {
+        float[] heights = region.getRegionFacet(ElevationFacet.class).getInternal();
+        System.arraycopy(input, 0, heights, 0, heights.length);
+        provider.process(region);
+        return heights;
+    }
+}
@@ -0,0 +1,105 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A stage of the world generation pipeline measured by the harness from the outside: the calls and latencies in a
+ * {@link StageStatistics}, and the bytes the calls allocated. Each call is also emitted as a {@link StageEvent}, so that
+ * it shows up in flight recordings of the harness.
+ *
+ * @see WorldGenerationHarness
+ */
+final class MeasuredStage {
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final StageStatistics statistics;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final ThreadLocal<Probe> probes = ThreadLocal.withInitial(() -> new Probe(this));
+
+    MeasuredStage(String name) {
+        statistics = new StageStatistics(name);
+    }
+
+    /**
+     * Starts measuring a call of the stage, which has to be finished with {@link Probe#end()}.
+     */
+    Probe begin() {
+        Probe probe = probes.get();
+        probe.start();
+        return probe;
+    }
+
+    StageStatistics getStatistics() {
+        return statistics;
+    }
+
+    long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    double getMeanAllocatedBytes() {
+        long count = statistics.getCalls();
+        return count == 0 ? 0 : (double) allocatedBytes.get() / count;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or -1 if the JVM does not support measuring it
+     */
+    private static long currentThreadAllocatedBytes() {
+        if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+            if (allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A measurement in progress. Each thread reuses its own probe, and the event of a call is created before the
+     * allocations are counted, so measuring does not add to the allocations of the stage.
+     */
+    static final class Probe {
+        private final MeasuredStage stage;
+        private long startNanos;
+        private long startBytes;
+        private StageEvent event;
+
+        private Probe(MeasuredStage stage) {
+            this.stage = stage;
+        }
+
+        private void start() {
+            event = new StageEvent();
+            event.begin();
+            startBytes = currentThreadAllocatedBytes();
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * Finishes the measurement and records it in the stage's statistics.
+         */
+        void end() {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = startBytes < 0 ? -1 : currentThreadAllocatedBytes() - startBytes;
+            stage.statistics.record(nanos);
+            if (bytes > 0) {
+                stage.allocatedBytes.addAndGet(bytes);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage.statistics.getName();
+                event.allocatedBytes = bytes;
+                event.commit();
+            }
+            event = null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.tutorialWorldGenerationBiomes.BiomeRasterizer;
+import org.terasology.tutorialWorldGenerationLakes.LakesRasterizer;
+import org.terasology.tutorialWorldGenerationTrees.Tree;
+import org.terasology.tutorialWorldGenerationTrees.TreesRasterizer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rasterizers of the module on a chunk of {@code size}&times;{@code size} columns and the engine's chunk
+ * height. The {@code layer} selects a chunk deep underground, one containing the surface, or one high up in the sky,
+ * which exercise the different coverage cases of the rasterizers. The facets are generated once up front; the
+ * structure indices of the house and tree facets are built on first use and reused afterwards.
+ * <p>
+ * Run with {@code -prof gc} to also report the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RasterizerBenchmark {
+
+    @Param({"16", "32", "64"})
+    public int size;
+
+    @Param({"underground", "surface", "sky"})
+    public String layer;
+
+    private BenchmarkRegion region;
+    private Chunk chunk;
+
+    private TutorialWorldRasterizer tutorialWorldRasterizer;
+    private HouseRasterizer houseRasterizer;
+    private TreesRasterizer treesRasterizer;
+    private LakesRasterizer lakesRasterizer;
+    private BiomeRasterizer biomeRasterizer;
+
+    @Setup
+    public void setup() {
+        region = BenchmarkWorld.generate(BenchmarkWorld.region(size, minY(layer), Chunks.SIZE_Y), true);
+        chunk = BenchmarkWorld.newChunk(region.getRegion());
+
+        tutorialWorldRasterizer = new TutorialWorldRasterizer();
+        BenchmarkWorld.inject(tutorialWorldRasterizer, "dirt", new Block());
+        BenchmarkWorld.inject(tutorialWorldRasterizer, "grass", new Block());
+
+        houseRasterizer = new HouseRasterizer();
+        BenchmarkWorld.inject(houseRasterizer, "blocks", new Block[]{new Block()});
+
+        treesRasterizer = new TreesRasterizer();
+        Block[] treeBlocks = new Block[2];
+        treeBlocks[Tree.TRUNK] = new Block();
+        treeBlocks[Tree.LEAF] = new Block();
+        BenchmarkWorld.inject(treesRasterizer, "blocks", treeBlocks);
+
+        lakesRasterizer = new LakesRasterizer();
+        BenchmarkWorld.inject(lakesRasterizer, "water", new Block());
+
+        biomeRasterizer = new BiomeRasterizer();
+        BenchmarkWorld.inject(biomeRasterizer, "biomeRegistry", BenchmarkWorld.newBiomeRegistry());
+    }
+
+    private static int minY(String layer) {
+        switch (layer) {
+            case "underground":
+                return -8 * Chunks.SIZE_Y;
+            case "surface":
+                return -Chunks.SIZE_Y / 2;
+            case "sky":
+                return 8 * Chunks.SIZE_Y;
+            default:
+                throw new IllegalArgumentException("Unknown layer: " + layer);
+        }
+    }
+
+    @Benchmark
+    public Chunk tutorialWorld() {
+        tutorialWorldRasterizer.generateChunk(chunk, region);
+        return chunk;
+    }
+
+    @Benchmark
+    public Chunk houses() {
+        houseRasterizer.generateChunk(chunk, region);
+        return chunk;
+    }
+
+    @Benchmark
+    public Chunk trees() {
+        treesRasterizer.generateChunk(chunk, region);
+        return chunk;
+    }
+
+    @Benchmark
+    public Chunk lakes() {
+        lakesRasterizer.generateChunk(chunk, region);
+        return chunk;
+    }
+
+    @Benchmark
+    public Chunk biomes() {
+        biomeRasterizer.generateChunk(chunk, region);
+        return chunk;
+    }
+}
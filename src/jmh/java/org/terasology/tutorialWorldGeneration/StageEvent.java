@@ -0,0 +1,30 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event for one call of a world generation stage.
+ *
+ * @see MeasuredStage
+ */
+@Name("org.terasology.tutorialWorldGeneration.Stage")
+@Label("World Generation Stage")
+@Category("Terasology")
+@Description("A facet provider or rasterizer processing a region")
+class StageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+}
@@ -0,0 +1,85 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.facets.SurfacesFacet;
+import org.terasology.tutorialWorldGenerationTrees.TreesFacet;
+import org.terasology.tutorialWorldGenerationTrees.TreesProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the providers deriving surfaces and structures from the elevation, for regions of {@code size}&times;{@code
+ * size} columns and one chunk height around the surface. All inputs are generated once up front.
+ * <p>
+ * Run with {@code -prof gc} to also report the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StructureProviderBenchmark {
+
+    @Param({"32", "64", "128"})
+    public int size;
+
+    private BenchmarkRegion region;
+
+    private SurfacesProvider surfacesProvider;
+    private ColumnSurfacesProvider columnSurfacesProvider;
+    private HouseProvider houseProvider;
+    private TreesProvider treesProvider;
+
+    @Setup
+    public void setup() {
+        region = BenchmarkWorld.generate(BenchmarkWorld.region(size, -32, 64), true);
+
+        surfacesProvider = new SurfacesProvider();
+        columnSurfacesProvider = new ColumnSurfacesProvider();
+        houseProvider = new HouseProvider();
+        treesProvider = new TreesProvider();
+        FacetProvider[] providers = {surfacesProvider, columnSurfacesProvider, houseProvider, treesProvider};
+        for (FacetProvider provider : providers) {
+            provider.setSeed(BenchmarkWorld.SEED);
+        }
+    }
+
+    @Benchmark
+    public SurfacesFacet surfaces() {
+        surfacesProvider.process(region);
+        return region.getRegionFacet(SurfacesFacet.class);
+    }
+
+    @Benchmark
+    public ColumnSurfacesFacet columnSurfaces() {
+        columnSurfacesProvider.process(region);
+        return region.getRegionFacet(ColumnSurfacesFacet.class);
+    }
+
+    @Benchmark
+    public HouseFacet houses() {
+        houseProvider.process(region);
+        return region.getRegionFacet(HouseFacet.class);
+    }
+
+    @Benchmark
+    public TreesFacet trees() {
+        treesProvider.process(region);
+        return region.getRegionFacet(TreesFacet.class);
+    }
+}
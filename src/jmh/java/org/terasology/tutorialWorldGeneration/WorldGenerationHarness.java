@@ -0,0 +1,382 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.mockito.Mockito;
+import org.terasology.biomesAPI.BiomeRegistry;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.context.internal.ContextImpl;
+import org.terasology.engine.core.SimpleUri;
+import org.terasology.engine.entitySystem.entity.internal.EntityBuffer;
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.registry.InjectionHelper;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.generation.BaseFacetedWorldGenerator;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.World;
+import org.terasology.engine.world.generation.WorldRasterizer;
+import org.terasology.engine.world.generator.plugin.WorldGeneratorPluginLibrary;
+import org.terasology.tutorialWorldGenerationLakes.LakesProvider;
+import org.terasology.tutorialWorldGenerationLakes.LakesRasterizer;
+import org.terasology.tutorialWorldGenerationMesas.MesaProvider;
+import org.terasology.tutorialWorldGenerationTrees.TreesProvider;
+import org.terasology.tutorialWorldGenerationTrees.TreesRasterizer;
+import org.terasology.tutorialWorldGenerationZones.ZonedSimplexWorldGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Runs the complete {@code createWorld()} pipelines of the world generators of this module without the rest of the
+ * engine, and reports how many chunks per second they generate.
+ * <p>
+ * Each run generates a block of {@code size}&times;{@code height}&times;{@code size} chunks around the origin with a
+ * freshly created generator, through the engine's world as the game does. Blocks and biomes are replaced by
+ * placeholders, so the generated chunks are discarded.
+ * <p>
+ * For the {@code tutorialWorld} generator the harness then generates the same chunks again stage by stage, running
+ * each facet provider and rasterizer itself, and reports the calls, latencies and allocations of every stage from its
+ * {@link MeasuredStage}. The zoned world nests the CoreWorlds providers in the engine's zones, so it is only
+ * measured as a whole.
+ * <p>
+ * Arguments are given as {@code key=value}:
+ * <ul>
+ *     <li>{@code generator}: {@code tutorialWorld}, {@code zonedsimplex} or {@code all} (default)</li>
+ *     <li>{@code plugins}: {@code on}, {@code off} or {@code both} (default)</li>
+ *     <li>{@code seed}: the world seed (default {@code harness})</li>
+ *     <li>{@code size}: the number of chunks along x and z (default 8)</li>
+ *     <li>{@code height}: the number of chunks along y (default 4)</li>
+ *     <li>{@code threads}: with more than one thread (default 1), every run additionally generates all chunks again in
+ *     parallel and fails if any of them differs from the serially generated chunk</li>
+ * </ul>
+ */
+public final class WorldGenerationHarness {
+
+    /**
+     * The plugins this module registers, which are offered to the generators when plugins are enabled.
+     */
+    private static final List<Class<?>> PLUGINS = List.of(LakesProvider.class, LakesRasterizer.class,
+            MesaProvider.class, TreesProvider.class, TreesRasterizer.class);
+
+    private static final Map<String, Function<SimpleUri, BaseFacetedWorldGenerator>> GENERATORS = Map.of(
+            "tutorialWorld", TutorialWorldGenerator::new,
+            "zonedsimplex", ZonedSimplexWorldGenerator::new);
+
+    private WorldGenerationHarness() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        String generatorOption = options.getOrDefault("generator", "all");
+        String pluginsOption = options.getOrDefault("plugins", "both");
+        String seed = options.getOrDefault("seed", "harness");
+        int size = Integer.parseInt(options.getOrDefault("size", "8"));
+        int height = Integer.parseInt(options.getOrDefault("height", "4"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "1"));
+
+        List<String> generators = generatorOption.equals("all")
+                ? List.of("tutorialWorld", "zonedsimplex") : List.of(generatorOption);
+        List<Boolean> pluginSettings = pluginsOption.equals("both")
+                ? List.of(false, true) : List.of(pluginsOption.equals("on"));
+
+        System.out.printf("%-14s %-8s %8s %12s %14s %12s %12s %12s%n", "generator", "plugins", "chunks",
+                "total [ms]", "chunks/sec", "mean [us]", "p99 [us]", "peak [MB]");
+        for (String generator : generators) {
+            if (!GENERATORS.containsKey(generator)) {
+                throw new IllegalArgumentException("Unknown generator: " + generator);
+            }
+            for (boolean plugins : pluginSettings) {
+                run(generator, plugins, seed, size, height);
+            }
+        }
+
+        if (generators.contains("tutorialWorld")) {
+            for (boolean plugins : pluginSettings) {
+                runStages(plugins, seed, size, height);
+            }
+        }
+
+        if (threads > 1) {
+            System.out.printf("%n%-14s %-8s %8s %8s %12s %14s %10s%n", "generator", "plugins", "chunks", "threads",
+                    "serial [ms]", "parallel [ms]", "speedup");
+            for (String generator : generators) {
+                for (boolean plugins : pluginSettings) {
+                    runConcurrent(generator, plugins, seed, size, height, threads);
+                }
+            }
+        }
+    }
+
+    private static void run(String generatorId, boolean plugins, String seed, int size, int height) {
+        List<BlockRegion> chunkRegions = chunkRegions(size, height);
+
+        System.gc();
+        resetPeakHeapUsage();
+
+        World world = createWorld(generatorId, plugins, seed, new IdentityHashMap<>());
+        EntityBuffer entityBuffer = new EntityBuffer();
+        StageStatistics chunks = new StageStatistics(generatorId);
+        for (BlockRegion chunkRegion : chunkRegions) {
+            Chunk chunk = BenchmarkWorld.newChunk(chunkRegion);
+            long start = System.nanoTime();
+            world.rasterizeChunk(chunk, entityBuffer);
+            chunks.record(System.nanoTime() - start);
+        }
+
+        double totalSeconds = chunks.getTotalNanos() / 1e9;
+        System.out.printf(Locale.ROOT, "%-14s %-8s %8d %12.1f %14.1f %12.1f %12d %12.1f%n", generatorId,
+                plugins ? "on" : "off", chunks.getCalls(), totalSeconds * 1e3, chunks.getCalls() / totalSeconds,
+                chunks.getMeanMicros(), chunks.getLatencyPercentileMicros(0.99),
+                getPeakHeapUsage() / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Generates every chunk of the tutorial world by running its facet providers and rasterizers one by one, in the
+     * order of {@link TutorialWorldGenerator}, and prints the statistics of each of them.
+     */
+    private static void runStages(boolean plugins, String seed, int size, int height) {
+        List<BlockRegion> chunkRegions = chunkRegions(size, height);
+
+        // initializes the rasterizers with the same placeholders as the generator, see createWorld
+        createWorld("tutorialWorld", plugins, seed, new IdentityHashMap<>());
+        List<FacetProvider> providers = BenchmarkWorld.providers(plugins);
+        for (FacetProvider provider : providers) {
+            provider.initialize();
+            // as the world builder does with the seed string of the world
+            provider.setSeed(seed.hashCode());
+        }
+        List<WorldRasterizer> rasterizers = new ArrayList<>();
+        for (Class<?> rasterizerClass : BenchmarkWorld.rasterizerClasses(plugins)) {
+            try {
+                rasterizers.add((WorldRasterizer) rasterizerClass.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create " + rasterizerClass, e);
+            }
+        }
+        for (WorldRasterizer rasterizer : rasterizers) {
+            rasterizer.initialize();
+        }
+
+        Map<Object, MeasuredStage> stages = new LinkedHashMap<>();
+        for (Object stage : providers) {
+            stages.put(stage, new MeasuredStage(stage.getClass().getSimpleName()));
+        }
+        for (Object stage : rasterizers) {
+            stages.put(stage, new MeasuredStage(stage.getClass().getSimpleName()));
+        }
+
+        for (BlockRegion chunkRegion : chunkRegions) {
+            BenchmarkRegion region = BenchmarkWorld.newRegion(chunkRegion, plugins);
+            for (FacetProvider provider : providers) {
+                MeasuredStage.Probe probe = stages.get(provider).begin();
+                provider.process(region);
+                probe.end();
+            }
+            Chunk chunk = BenchmarkWorld.newChunk(chunkRegion);
+            for (WorldRasterizer rasterizer : rasterizers) {
+                MeasuredStage.Probe probe = stages.get(rasterizer).begin();
+                rasterizer.generateChunk(chunk, region);
+                probe.end();
+            }
+        }
+
+        System.out.printf("%ntutorialWorld stages, plugins %s%n", plugins ? "on" : "off");
+        System.out.printf("%-28s %8s %12s %12s %12s %12s %14s%n", "stage", "calls", "total [ms]", "mean [us]",
+                "p50 [us]", "p99 [us]", "alloc/call [KB]");
+        for (MeasuredStage stage : stages.values()) {
+            StageStatistics statistics = stage.getStatistics();
+            System.out.printf(Locale.ROOT, "%-28s %8d %12.1f %12.1f %12d %12d %14.1f%n", statistics.getName(),
+                    statistics.getCalls(), statistics.getTotalNanos() / 1e6, statistics.getMeanMicros(),
+                    statistics.getLatencyPercentileMicros(0.5), statistics.getLatencyPercentileMicros(0.99),
+                    stage.getMeanAllocatedBytes() / 1024.0);
+        }
+    }
+
+    /**
+     * Generates all chunks serially and then again in parallel, each time with a freshly created generator, and
+     * compares the blocks of every chunk.
+     */
+    private static void runConcurrent(String generatorId, boolean plugins, String seed, int size, int height,
+                                      int threads) {
+        List<BlockRegion> chunkRegions = chunkRegions(size, height);
+
+        Map<Block, String> serialBlockNames = new IdentityHashMap<>();
+        World serialWorld = createWorld(generatorId, plugins, seed, serialBlockNames);
+        long[] serialChecksums = new long[chunkRegions.size()];
+        long serialStart = System.nanoTime();
+        for (int i = 0; i < chunkRegions.size(); i++) {
+            serialChecksums[i] = rasterize(serialWorld, chunkRegions.get(i), serialBlockNames);
+        }
+        long serialTime = System.nanoTime() - serialStart;
+
+        // rasterizers may look up blocks lazily, so the block names are shared between the worker threads
+        Map<Block, String> parallelBlockNames = Collections.synchronizedMap(new IdentityHashMap<>());
+        World parallelWorld = createWorld(generatorId, plugins, seed, parallelBlockNames);
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (BlockRegion chunkRegion : chunkRegions) {
+            tasks.add(() -> rasterize(parallelWorld, chunkRegion, parallelBlockNames));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long[] parallelChecksums = new long[chunkRegions.size()];
+        long parallelStart = System.nanoTime();
+        try {
+            List<Future<Long>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                parallelChecksums[i] = results.get(i).get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel generation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating in parallel", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        long parallelTime = System.nanoTime() - parallelStart;
+
+        System.out.printf(Locale.ROOT, "%-14s %-8s %8d %8d %12.1f %14.1f %10.2f%n", generatorId,
+                plugins ? "on" : "off", chunkRegions.size(), threads, serialTime / 1e6, parallelTime / 1e6,
+                (double) serialTime / parallelTime);
+
+        for (int i = 0; i < chunkRegions.size(); i++) {
+            if (serialChecksums[i] != parallelChecksums[i]) {
+                throw new IllegalStateException("Chunk " + chunkRegions.get(i) + " of " + generatorId + " (plugins "
+                        + (plugins ? "on" : "off") + ") differs between serial and parallel generation");
+            }
+        }
+    }
+
+    /**
+     * Rasterizes a chunk and returns a checksum of its blocks, identifying each block by the name it was requested by.
+     */
+    private static long rasterize(World world, BlockRegion chunkRegion, Map<Block, String> blockNames) {
+        Chunk chunk = BenchmarkWorld.newChunk(chunkRegion);
+        world.rasterizeChunk(chunk, new EntityBuffer());
+        long checksum = 1;
+        for (int z = 0; z < chunk.getChunkSizeZ(); z++) {
+            for (int y = 0; y < chunk.getChunkSizeY(); y++) {
+                for (int x = 0; x < chunk.getChunkSizeX(); x++) {
+                    Block block = chunk.getBlock(x, y, z);
+                    String name = block == BenchmarkWorld.AIR ? "air" : blockNames.getOrDefault(block, "unknown");
+                    checksum = checksum * 31 + name.hashCode();
+                }
+            }
+        }
+        return checksum;
+    }
+
+    private static List<BlockRegion> chunkRegions(int size, int height) {
+        List<BlockRegion> regions = new ArrayList<>();
+        for (int cy = -height / 2; cy < height - height / 2; cy++) {
+            for (int cz = -size / 2; cz < size - size / 2; cz++) {
+                for (int cx = -size / 2; cx < size - size / 2; cx++) {
+                    regions.add(new BlockRegion(cx * Chunks.SIZE_X, cy * Chunks.SIZE_Y, cz * Chunks.SIZE_Z,
+                            (cx + 1) * Chunks.SIZE_X - 1, (cy + 1) * Chunks.SIZE_Y - 1, (cz + 1) * Chunks.SIZE_Z - 1));
+                }
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Creates the world of a generator in a fresh context, with placeholders for the engine systems the rasterizers
+     * look up during initialization.
+     *
+     * @param blockNames receives a placeholder block for every distinct block the rasterizers request, together with
+     *         the name it was requested by
+     */
+    private static World createWorld(String generatorId, boolean plugins, String seed, Map<Block, String> blockNames) {
+        Context context = new ContextImpl();
+        Map<String, Block> blocks = new ConcurrentHashMap<>();
+        context.put(BlockManager.class, Mockito.mock(BlockManager.class, invocation -> {
+            if (invocation.getMethod().getReturnType() != Block.class) {
+                return null;
+            }
+            String name = Arrays.toString(invocation.getArguments());
+            return blocks.computeIfAbsent(name, key -> {
+                Block block = new Block();
+                blockNames.put(block, key);
+                return block;
+            });
+        }));
+        context.put(BiomeRegistry.class, BenchmarkWorld.newBiomeRegistry());
+        context.put(WorldGeneratorPluginLibrary.class, newPluginLibrary(plugins ? PLUGINS : List.of()));
+        CoreRegistry.setContext(context);
+
+        SimpleUri uri = new SimpleUri("harness:" + generatorId);
+        BaseFacetedWorldGenerator generator = GENERATORS.get(generatorId).apply(uri);
+        InjectionHelper.inject(generator, context);
+        generator.setWorldSeed(seed);
+        generator.initialize();
+        return generator.getWorld();
+    }
+
+    /**
+     * Creates a plugin library offering new instances of those of the given plugin classes that match the requested
+     * type.
+     */
+    private static WorldGeneratorPluginLibrary newPluginLibrary(List<Class<?>> pluginClasses) {
+        return (WorldGeneratorPluginLibrary) Proxy.newProxyInstance(WorldGeneratorPluginLibrary.class.getClassLoader(),
+                new Class<?>[]{WorldGeneratorPluginLibrary.class}, (proxy, method, args) -> {
+                    if (args == null || args.length != 1 || !(args[0] instanceof Class)) {
+                        throw new UnsupportedOperationException("Not supported by the harness: " + method);
+                    }
+                    Class<?> type = (Class<?>) args[0];
+                    List<Object> plugins = new ArrayList<>();
+                    for (Class<?> pluginClass : pluginClasses) {
+                        if (type.isAssignableFrom(pluginClass)) {
+                            plugins.add(pluginClass.getDeclaredConstructor().newInstance());
+                        }
+                    }
+                    return plugins;
+                });
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,72 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how a rasterizer classified the chunks it generated, and regularly logs which share of them could be handled
+ * by a fast path instead of visiting every voxel.
+ */
+public class ChunkCoverageStatistics {
+
+    /**
+     * How a chunk relates to the features a rasterizer places.
+     */
+    public enum Coverage {
+        /** Nothing in the chunk needs to be placed, the chunk is skipped. */
+        EMPTY,
+        /** Every voxel of the chunk gets the same result, no facet lookups are needed. */
+        SOLID,
+        /** The chunk needs to be rasterized column by column. */
+        MIXED
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkCoverageStatistics.class);
+    private static final long REPORT_INTERVAL = 1024;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(Coverage.values().length);
+
+    /**
+     * @param name the name of the rasterizer, used in the log output
+     */
+    public ChunkCoverageStatistics(String name) {
+        this.name = name;
+    }
+
+    public void record(Coverage coverage) {
+        counts.incrementAndGet(coverage.ordinal());
+        long total = getTotal();
+        if (total % REPORT_INTERVAL == 0) {
+            logger.debug("{}: {} of {} chunks skipped ({}% empty, {}% solid)", name,
+                    counts.get(Coverage.EMPTY.ordinal()) + counts.get(Coverage.SOLID.ordinal()), total,
+                    String.format("%.1f", getPercentage(Coverage.EMPTY)),
+                    String.format("%.1f", getPercentage(Coverage.SOLID)));
+        }
+    }
+
+    public long getCount(Coverage coverage) {
+        return counts.get(coverage.ordinal());
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return the percentage of all recorded chunks that were classified as the given coverage
+     */
+    public float getPercentage(Coverage coverage) {
+        long total = getTotal();
+        return total == 0 ? 0 : 100f * getCount(coverage) / total;
+    }
+}
@@ -0,0 +1,64 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunk;
+
+/**
+ * Writes vertical runs of blocks into a chunk, addressed in world coordinates.
+ * <p>
+ * Rasterizers whose output only depends on the (x, z) column can look up their facet data once per column and fill
+ * whole spans, instead of doing the lookup and the relative coordinate conversion for every single voxel.
+ */
+public class ColumnSpanWriter {
+
+    private final Chunk chunk;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxY;
+
+    /**
+     * @param chunk the chunk to write to
+     * @param chunkRegion the world region covered by the chunk
+     */
+    public ColumnSpanWriter(Chunk chunk, BlockRegionc chunkRegion) {
+        this.chunk = chunk;
+        this.minX = chunkRegion.minX();
+        this.minY = chunkRegion.minY();
+        this.minZ = chunkRegion.minZ();
+        this.maxY = chunkRegion.maxY();
+    }
+
+    /**
+     * Sets the blocks of the column at (wx, wz) from {@code fromY} up to {@code toY} (both inclusive).
+     * Parts of the span outside of the chunk are ignored.
+     *
+     * @param wx the world x coordinate of the column, must lie within the chunk
+     * @param wz the world z coordinate of the column, must lie within the chunk
+     * @param fromY the lowest world y coordinate of the span
+     * @param toY the highest world y coordinate of the span
+     * @param block the block to fill the span with
+     */
+    public void fill(int wx, int wz, int fromY, int toY, Block block) {
+        int x = wx - minX;
+        int z = wz - minZ;
+        int from = Math.max(fromY, minY) - minY;
+        int to = Math.min(toY, maxY) - minY;
+        for (int y = from; y <= to; y++) {
+            chunk.setBlock(x, y, z, block);
+        }
+    }
+
+    /**
+     * Sets a single block of the column at (wx, wz), if {@code wy} lies within the chunk.
+     */
+    public void set(int wx, int wy, int wz, Block block) {
+        if (wy >= minY && wy <= maxY) {
+            chunk.setBlock(wx - minX, wy - minY, wz - minZ, block);
+        }
+    }
+}
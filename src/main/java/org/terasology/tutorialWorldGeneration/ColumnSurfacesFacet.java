@@ -0,0 +1,118 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.facets.base.BaseFacet2D;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Stores the surface blocks of each column, like the {@link org.terasology.engine.world.generation.facets.SurfacesFacet}
+ * but with a single height per column instead of a flag per block. Columns with several surfaces fall back to a
+ * bit set over the facet's height range.
+ */
+public class ColumnSurfacesFacet extends BaseFacet2D {
+
+    /**
+     * The height of columns that have no surface within the facet's height range.
+     */
+    public static final int NO_SURFACE = Integer.MIN_VALUE;
+
+    private final int worldMinY;
+    private final int worldMaxY;
+    private final int[] heights;
+    private BitSet[] multipleSurfaces;
+
+    public ColumnSurfacesFacet(BlockRegion targetRegion, Border3D border) {
+        super(targetRegion, border);
+        worldMinY = targetRegion.minY() - border.getBottom();
+        worldMaxY = targetRegion.maxY() + border.getTop();
+        heights = new int[getWorldArea().area()];
+        Arrays.fill(heights, NO_SURFACE);
+    }
+
+    public int getWorldMinY() {
+        return worldMinY;
+    }
+
+    public int getWorldMaxY() {
+        return worldMaxY;
+    }
+
+    /**
+     * @return the height of the surface of the column, the lowest one if it has several, or {@link #NO_SURFACE}
+     */
+    public int getWorldHeight(int x, int z) {
+        return heights[getColumnIndex(x, z)];
+    }
+
+    /**
+     * @return whether the column has more than one surface, which have to be visited by
+     *         {@link #forEachWorldSurface(int, int, IntConsumer)}
+     */
+    public boolean hasMultipleSurfaces(int x, int z) {
+        return multipleSurfaces != null && multipleSurfaces[getColumnIndex(x, z)] != null;
+    }
+
+    /**
+     * Visits the heights of all surfaces of the column in ascending order.
+     */
+    public void forEachWorldSurface(int x, int z, IntConsumer consumer) {
+        int index = getColumnIndex(x, z);
+        BitSet surfaces = multipleSurfaces != null ? multipleSurfaces[index] : null;
+        if (surfaces != null) {
+            for (int y = surfaces.nextSetBit(0); y >= 0; y = surfaces.nextSetBit(y + 1)) {
+                consumer.accept(worldMinY + y);
+            }
+        } else if (heights[index] != NO_SURFACE) {
+            consumer.accept(heights[index]);
+        }
+    }
+
+    /**
+     * Marks the given block as a surface, in addition to the surfaces the column already has.
+     */
+    public void addWorld(int x, int y, int z) {
+        if (y < worldMinY || y > worldMaxY) {
+            throw new IllegalArgumentException(String.format("Out of bounds: y = %d for range [%d, %d]",
+                    y, worldMinY, worldMaxY));
+        }
+        int index = getColumnIndex(x, z);
+        int height = heights[index];
+        if (height == NO_SURFACE) {
+            heights[index] = y;
+        } else if (height != y) {
+            if (multipleSurfaces == null) {
+                multipleSurfaces = new BitSet[heights.length];
+            }
+            if (multipleSurfaces[index] == null) {
+                multipleSurfaces[index] = new BitSet(worldMaxY - worldMinY + 1);
+                multipleSurfaces[index].set(height - worldMinY);
+            }
+            multipleSurfaces[index].set(y - worldMinY);
+            heights[index] = Math.min(height, y);
+        }
+    }
+
+    /**
+     * The single surface heights in the same row-major layout as the other 2D facets. Writing to it directly only
+     * works for columns that do not have several surfaces.
+     */
+    public int[] getInternal() {
+        return heights;
+    }
+
+    private int getColumnIndex(int x, int z) {
+        BlockAreac worldArea = getWorldArea();
+        if (!worldArea.contains(x, z)) {
+            throw new IllegalArgumentException(String.format("Out of bounds: (%d, %d) for region %s", x, z, worldArea));
+        }
+        return x - worldArea.minX() + worldArea.getSizeX() * (z - worldArea.minY());
+    }
+}
@@ -0,0 +1,59 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.generation.Facet;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.Requires;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+
+/**
+ * Derives the single surface of each column from the ElevationFacet: the block just below the elevation.
+ */
+@Produces(ColumnSurfacesFacet.class)
+@Requires(@Facet(ElevationFacet.class))
+public class ColumnSurfacesProvider implements FacetProvider {
+
+    private static final StageStatistics STAGE = StageInstrumentation.stage("ColumnSurfacesProvider");
+
+    @Override
+    public void setSeed(long seed) {
+
+    }
+
+    @Override
+    public void process(GeneratingRegion region) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet elevation = region.getRegionFacet(ElevationFacet.class);
+            ColumnSurfacesFacet facet = new ColumnSurfacesFacet(region.getRegion(),
+                    region.getBorderForFacet(ColumnSurfacesFacet.class));
+
+            // the elevation may have a larger border, so walk both arrays row by row
+            float[] elevations = elevation.getInternal();
+            BlockAreac elevationArea = elevation.getWorldArea();
+            int[] heights = facet.getInternal();
+            BlockAreac area = facet.getWorldArea();
+            int minY = facet.getWorldMinY();
+            int maxY = facet.getWorldMaxY();
+
+            int index = 0;
+            for (int wz = area.minY(); wz <= area.maxY(); wz++) {
+                int elevationIndex = area.minX() - elevationArea.minX()
+                        + elevationArea.getSizeX() * (wz - elevationArea.minY());
+                for (int i = 0; i < area.getSizeX(); i++) {
+                    int height = (int) Math.ceil(elevations[elevationIndex++]) - 1;
+                    heights[index++] = height >= minY && height <= maxY ? height : ColumnSurfacesFacet.NO_SURFACE;
+                }
+            }
+
+            region.setRegionFacet(ColumnSurfacesFacet.class, facet);
+        } finally {
+            probe.end();
+        }
+    }
+}
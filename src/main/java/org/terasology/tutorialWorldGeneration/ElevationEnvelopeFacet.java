@@ -0,0 +1,41 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.facets.base.BaseFacet3D;
+
+/**
+ * Stores the lowest and highest elevation of all columns in the region, so rasterizers can tell without looking at
+ * single columns whether a chunk lies entirely above or entirely below the surface.
+ */
+public class ElevationEnvelopeFacet extends BaseFacet3D {
+
+    private float minElevation;
+    private float maxElevation;
+
+    public ElevationEnvelopeFacet(BlockRegion targetRegion, Border3D border) {
+        super(targetRegion, border);
+    }
+
+    /**
+     * @return the lowest elevation of any column in the region
+     */
+    public float getMinElevation() {
+        return minElevation;
+    }
+
+    /**
+     * @return the highest elevation of any column in the region
+     */
+    public float getMaxElevation() {
+        return maxElevation;
+    }
+
+    public void setEnvelope(float min, float max) {
+        this.minElevation = min;
+        this.maxElevation = max;
+    }
+}
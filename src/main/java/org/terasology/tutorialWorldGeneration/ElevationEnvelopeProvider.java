@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Facet;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.Requires;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+
+/**
+ * Summarizes the final {@link ElevationFacet} of the region (excluding its borders) into an
+ * {@link ElevationEnvelopeFacet}.
+ */
+@Produces(ElevationEnvelopeFacet.class)
+@Requires(@Facet(ElevationFacet.class))
+public class ElevationEnvelopeProvider implements FacetProvider {
+
+    private static final StageStatistics STAGE = StageInstrumentation.stage("ElevationEnvelopeProvider");
+
+    @Override
+    public void setSeed(long seed) {
+
+    }
+
+    @Override
+    public void process(GeneratingRegion region) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet elevationFacet = region.getRegionFacet(ElevationFacet.class);
+            ElevationEnvelopeFacet facet = new ElevationEnvelopeFacet(region.getRegion(),
+                    region.getBorderForFacet(ElevationEnvelopeFacet.class));
+
+            BlockRegion worldRegion = region.getRegion();
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int wz = worldRegion.minZ(); wz <= worldRegion.maxZ(); wz++) {
+                for (int wx = worldRegion.minX(); wx <= worldRegion.maxX(); wx++) {
+                    float height = elevationFacet.getWorld(wx, wz);
+                    min = Math.min(min, height);
+                    max = Math.max(max, height);
+                }
+            }
+            facet.setEnvelope(min, max);
+
+            region.setRegionFacet(ElevationEnvelopeFacet.class, facet);
+        } finally {
+            probe.end();
+        }
+    }
+}
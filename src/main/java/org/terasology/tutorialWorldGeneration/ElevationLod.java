@@ -0,0 +1,135 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.utilities.procedural.BrownianNoise;
+import org.terasology.engine.utilities.procedural.Noise;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the variants of a fractal noise used for the levels of detail of scaled elevation generation.
+ * <p>
+ * When a facet column stands for {@code scale} blocks, octaves with a frequency above the Nyquist limit of
+ * {@code 1 / (2 * scale)} per block can no longer be resolved and only add aliasing. Octave {@code i} of a
+ * {@link BrownianNoise} sampled with a given zoom has a frequency of {@code zoom * lacunarity^i} per block, so only the
+ * octaves above the limit are dropped, down to a single octave. Noises whose octaves are all resolvable at a scale are
+ * sampled in full.
+ * <p>
+ * The remaining octaves keep the weights and the normalization of the full noise, so a coarse level is the full noise
+ * minus its finest details, rather than a differently scaled noise.
+ */
+public class ElevationLod {
+
+    /**
+     * The lacunarity and persistence of {@link BrownianNoise}, with which the octaves are summed up. As they are
+     * copied from the engine, ElevationLodTest checks that they still match it.
+     */
+    private static final float LACUNARITY = 2.1379201f;
+    private static final float PERSISTENCE = 0.836281f;
+
+    private final float zoom;
+    /**
+     * The noise with the given number of lowest octaves, the last entry is the full noise.
+     */
+    private final Noise[] byOctaves;
+
+    /**
+     * @param noise the noise at full detail, a {@link BrownianNoise} of the base noise sampled with the given zoom
+     * @param baseNoise the noise summed up in each octave
+     * @param octaves the number of octaves of the full noise
+     * @param zoom the zoom the fractal noise is sampled with, i.e. the frequency of its first octave per block
+     * @param sampling samples a fractal noise the same way the full noise is sampled, e.g. zoomed and sub-sampled
+     */
+    public ElevationLod(Noise noise, Noise baseNoise, int octaves, float zoom, UnaryOperator<Noise> sampling) {
+        this.zoom = zoom;
+        byOctaves = new Noise[octaves + 1];
+        for (int kept = 1; kept < octaves; kept++) {
+            byOctaves[kept] = sampling.apply(getLowOctaves(baseNoise, octaves, kept));
+        }
+        byOctaves[octaves] = noise;
+    }
+
+    /**
+     * @param baseNoise the noise summed up in each octave
+     * @param octaves the number of octaves of the full noise
+     * @param kept the number of lowest octaves to keep
+     * @return the lowest octaves of a {@link BrownianNoise} of the base noise, not zoomed
+     */
+    static Noise getLowOctaves(Noise baseNoise, int octaves, int kept) {
+        float[] weights = new float[octaves];
+        float normalization = 0;
+        for (int i = 0; i < octaves; i++) {
+            weights[i] = (float) Math.pow(LACUNARITY, -PERSISTENCE * i);
+            normalization += weights[i];
+        }
+        return new LowOctaveNoise(baseNoise, weights, kept, normalization);
+    }
+
+    /**
+     * @param scale the number of blocks a facet column stands for
+     * @return the noise to sample at the given scale
+     */
+    public Noise getNoise(float scale) {
+        return byOctaves[getOctaves(scale)];
+    }
+
+    /**
+     * @return the number of lowest octaves whose frequency can be resolved at the given scale, at least 1
+     */
+    public int getOctaves(float scale) {
+        int octaves = byOctaves.length - 1;
+        double nyquist = 0.5 / Math.max(1, scale);
+        int kept = 1;
+        while (kept < octaves && zoom * Math.pow(LACUNARITY, kept) <= nyquist) {
+            kept++;
+        }
+        return kept;
+    }
+
+    /**
+     * The lowest octaves of a fractal noise, weighted and normalized like the full noise.
+     */
+    private static final class LowOctaveNoise implements Noise {
+        private final Noise baseNoise;
+        private final float[] weights;
+        private final int octaves;
+        private final float normalization;
+
+        private LowOctaveNoise(Noise baseNoise, float[] weights, int octaves, float normalization) {
+            this.baseNoise = baseNoise;
+            this.weights = weights;
+            this.octaves = octaves;
+            this.normalization = normalization;
+        }
+
+        @Override
+        public float noise(float x, float y) {
+            float result = 0;
+            float workingX = x;
+            float workingY = y;
+            for (int i = 0; i < octaves; i++) {
+                result += baseNoise.noise(workingX, workingY) * weights[i];
+                workingX *= LACUNARITY;
+                workingY *= LACUNARITY;
+            }
+            return result / normalization;
+        }
+
+        @Override
+        public float noise(float x, float y, float z) {
+            float result = 0;
+            float workingX = x;
+            float workingY = y;
+            float workingZ = z;
+            for (int i = 0; i < octaves; i++) {
+                result += baseNoise.noise(workingX, workingY, workingZ) * weights[i];
+                workingX *= LACUNARITY;
+                workingY *= LACUNARITY;
+                workingZ *= LACUNARITY;
+            }
+            return result / normalization;
+        }
+    }
+}
@@ -16,13 +16,64 @@
 
 package org.terasology.tutorialWorldGeneration;
 
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.BlockRegion;
+
 /**
  * Defines a house.
  */
 public class House {
+    /**
+     * The material index of the walls in the {@link #getStencil() stencil}.
+     */
+    public static final int WALL = 0;
+
+    /**
+     * Houses have no state of their own, so this instance can be placed everywhere.
+     */
+    public static final House INSTANCE = new House();
+
+    private static final int EXTENT = 4;
+    private static final StructureStencil STENCIL = compileStencil(EXTENT);
+
     // important fields and properties go here
 
     public int getExtent() {
-        return 4;
+        return EXTENT;
+    }
+
+    /**
+     * The shape of the house: the walls of a hollow cube resting on the house's position.
+     *
+     * @return the stencil, relative to the center of the house's floor
+     */
+    public StructureStencil getStencil() {
+        return STENCIL;
+    }
+
+    /**
+     * The blocks covered by a house standing at the given position, i.e. a cube resting on top of it.
+     *
+     * @param position the center of the house's floor
+     * @return the bounds in world coordinates
+     */
+    public BlockRegion getBounds(Vector3ic position) {
+        return STENCIL.getBounds(position);
+    }
+
+    private static StructureStencil compileStencil(int extent) {
+        StructureStencil.Builder builder = StructureStencil.builder();
+        for (int y = 0; y <= 2 * extent; y++) {
+            for (int z = -extent; z <= extent; z++) {
+                for (int x = -extent; x <= extent; x++) {
+                    // only the outer layer of the cube is built, the inside stays empty
+                    boolean inside = Math.abs(x) < extent && Math.abs(z) < extent && y > 0 && y < 2 * extent;
+                    if (!inside) {
+                        builder.add(x, y, z, WALL);
+                    }
+                }
+            }
+        }
+        return builder.build();
     }
 }
@@ -15,16 +15,35 @@
  */
 package org.terasology.tutorialWorldGeneration;
 
+import org.joml.Vector3i;
 import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.generation.Border3D;
-import org.terasology.engine.world.generation.facets.base.SparseObjectFacet3D;
 
 /**
  * Stores where the center of a house will be placed
  */
-public class HouseFacet extends SparseObjectFacet3D<House> {
+public class HouseFacet extends SparseStructureFacet<House> {
+
+    private StructureIndex<House> index;
 
     public HouseFacet(BlockRegion targetRegion, Border3D border) {
         super(targetRegion, border);
     }
+
+    /**
+     * Indexes the houses by the blocks they cover. The index is built on first use, so it must only be requested once
+     * all houses have been placed. It may be requested from several threads, e.g. by the world viewer's layers.
+     *
+     * @return the index of all houses in this facet
+     */
+    public synchronized StructureIndex<House> getIndex() {
+        if (index == null) {
+            index = new StructureIndex<>();
+            forEachWorld((x, y, z, house) -> {
+                Vector3i position = new Vector3i(x, y, z);
+                index.add(position, house, house.getBounds(position));
+            });
+        }
+        return index;
+    }
 }
@@ -3,12 +3,8 @@ package org.terasology.tutorialWorldGeneration;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.Map.Entry;
 
-import org.joml.Vector2i;
-import org.terasology.engine.world.block.BlockArea;
 import org.terasology.engine.world.viewer.layers.AbstractFacetLayer;
-import org.joml.Vector3ic;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.viewer.layers.Renders;
 
@@ -28,15 +24,14 @@ public class HouseFacetLayer extends AbstractFacetLayer {
         int dy = region.getRegion().minZ();
         g.translate(-dx, -dy);
 
-        for (Entry<Vector3ic, House> entry : houseFacet.getWorldEntries().entrySet()) {
-            int extent = entry.getValue().getExtent();
+        houseFacet.forEachWorld((x, y, z, house) -> {
+            int extent = house.getExtent();
 
-            Vector3ic center = entry.getKey();
             g.setColor(fillColor);
-            g.fillRect(center.x() - extent, center.z() - extent, 2 * extent, 2 * extent);
+            g.fillRect(x - extent, z - extent, 2 * extent, 2 * extent);
             g.setColor(frameColor);
-            g.drawRect(center.x() - extent, center.z() - extent, 2 * extent, 2 * extent);
-        }
+            g.drawRect(x - extent, z - extent, 2 * extent, 2 * extent);
+        });
 
         g.dispose();
     }
@@ -45,15 +40,9 @@ public class HouseFacetLayer extends AbstractFacetLayer {
     public String getWorldText(Region region, int wx, int wy) {
         HouseFacet houseFacet = region.getFacet(HouseFacet.class);
 
-        for (Entry<Vector3ic, House> entry : houseFacet.getWorldEntries().entrySet()) {
-            int extent = entry.getValue().getExtent();
-
-            Vector3ic center = entry.getKey();
-            Vector2i min = new Vector2i(center.x() - extent, center.z() - extent);
-            Vector2i max = new Vector2i(center.x() + extent, center.z() + extent);
-            if (new BlockArea(min, max).contains(wx, wy)) {
-                return "House";
-            }
+        // the index lookup only visits the houses near the cursor and does not allocate
+        if (houseFacet.getIndex().findAt(wx, wy) != null) {
+            return "House";
         }
         return null;
     }
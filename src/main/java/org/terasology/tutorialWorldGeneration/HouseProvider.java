@@ -15,9 +15,7 @@
  */
 package org.terasology.tutorialWorldGeneration;
 
-import org.terasology.engine.utilities.procedural.Noise;
-import org.terasology.engine.utilities.procedural.WhiteNoise;
-import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.generation.Border3D;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.FacetBorder;
@@ -25,40 +23,44 @@ import org.terasology.engine.world.generation.FacetProvider;
 import org.terasology.engine.world.generation.GeneratingRegion;
 import org.terasology.engine.world.generation.Produces;
 import org.terasology.engine.world.generation.Requires;
-import org.terasology.engine.world.generation.facets.SurfacesFacet;
 
 @Produces(HouseFacet.class)
-@Requires(@Facet(value = SurfacesFacet.class, border = @FacetBorder(sides = 4, bottom = 8)))
+@Requires(@Facet(value = ColumnSurfacesFacet.class, border = @FacetBorder(sides = 4, bottom = 8)))
 public class HouseProvider implements FacetProvider {
 
-    private Noise noise;
+    private static final StageStatistics STAGE = StageInstrumentation.stage("HouseProvider");
+
+    /**
+     * The edge length of the cells of the placement grid, each cell holds at most one house.
+     */
+    private static final int CELL_SIZE = 16;
+    private static final float HOUSE_PROBABILITY = 0.5f;
+
+    private volatile JitteredGrid grid;
 
     @Override
     public void setSeed(long seed) {
-        noise = new WhiteNoise(seed);
+        // keeping the houses an extent away from the cell edges ensures that houses of different cells never overlap
+        grid = new JitteredGrid(seed, CELL_SIZE, House.INSTANCE.getExtent(), HOUSE_PROBABILITY);
     }
 
     @Override
     public void process(GeneratingRegion region) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            Border3D border = region.getBorderForFacet(HouseFacet.class).extendBy(0, 8, 4);
+            HouseFacet facet = new HouseFacet(region.getRegion(), border);
+            ColumnSurfacesFacet surfacesFacet = region.getRegionFacet(ColumnSurfacesFacet.class);
 
-        Border3D border = region.getBorderForFacet(HouseFacet.class).extendBy(0, 8, 4);
-        HouseFacet facet = new HouseFacet(region.getRegion(), border);
-        SurfacesFacet surfacesFacet = region.getRegionFacet(SurfacesFacet.class);
+            BlockAreac worldArea = surfacesFacet.getWorldArea();
 
-        BlockRegion worldRegion = surfacesFacet.getWorldRegion();
+            grid.forEachCandidate(worldArea.minX(), worldArea.minY(), worldArea.maxX(), worldArea.maxY(),
+                    (wx, wz) -> surfacesFacet.forEachWorldSurface(wx, wz,
+                            surfaceHeight -> facet.setWorld(wx, surfaceHeight, wz, House.INSTANCE)));
 
-        for (int wz = worldRegion.minZ(); wz <= worldRegion.maxZ(); wz++) {
-            for (int wx = worldRegion.minX(); wx <= worldRegion.maxX(); wx++) {
-                for (int surfaceHeight : surfacesFacet.getWorldColumn(wx, wz)) {
-
-                    // TODO: check for overlap
-                    if (noise.noise(wx, wz) > 0.99) {
-                        facet.setWorld(wx, surfaceHeight, wz, new House());
-                    }
-                }
-            }
+            region.setRegionFacet(HouseFacet.class, facet);
+        } finally {
+            probe.end();
         }
-
-        region.setRegionFacet(HouseFacet.class, facet);
     }
 }
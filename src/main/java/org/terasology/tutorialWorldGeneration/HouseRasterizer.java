@@ -15,49 +15,40 @@
  */
 package org.terasology.tutorialWorldGeneration;
 
-import org.joml.Vector3i;
-import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
-import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunk;
-import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.WorldRasterizer;
 
-import java.util.Map.Entry;
-
 public class HouseRasterizer implements WorldRasterizer {
-    private Block stone;
+    private static final StageStatistics STAGE = StageInstrumentation.stage("HouseRasterizer");
+
+    /**
+     * The blocks for the materials of the house stencil.
+     */
+    private Block[] blocks;
 
     @Override
     public void initialize() {
-        stone = CoreRegistry.get(BlockManager.class).getBlock("CoreAssets:Stone");
+        Block stone = CoreRegistry.get(BlockManager.class).getBlock("CoreAssets:Stone");
+        blocks = new Block[] {stone};
     }
 
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
-        HouseFacet houseFacet = chunkRegion.getFacet(HouseFacet.class);
-
-        for (Entry<Vector3ic, House> entry : houseFacet.getWorldEntries().entrySet()) {
-            // there should be a house here
-            // create a couple 3d regions to help iterate through the cube shape, inside and out
-            Vector3i centerHousePosition = new Vector3i(entry.getKey());
-            int extent = entry.getValue().getExtent();
-            centerHousePosition.add(0, extent, 0);
-            BlockRegion walls = new BlockRegion(centerHousePosition).expand(extent, extent, extent);
-            BlockRegion inside = new BlockRegion(centerHousePosition).expand(extent - 1, extent - 1, extent - 1);
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            HouseFacet houseFacet = chunkRegion.getFacet(HouseFacet.class);
+            BlockRegionc chunkBounds = chunkRegion.getRegion();
 
-            // loop through each of the positions in the cube, ignoring the indices
-            // reusing one mutable vector is more efficient than creating a new one for each toRelative()
-            Vector3i tmp = new Vector3i();
-            for (Vector3ic newBlockPosition : walls) {
-                if (chunkRegion.getRegion().contains(newBlockPosition)
-                        && !inside.contains(newBlockPosition)) {
-                    chunk.setBlock(Chunks.toRelative(newBlockPosition, tmp), stone);
-                }
-            }
+            // only visit the houses that reach into this chunk, their stencils only place the blocks inside of it
+            houseFacet.getIndex().forEachIntersecting(chunkBounds, entry ->
+                    entry.getStructure().getStencil().rasterize(chunk, chunkBounds, entry.getPosition(), blocks));
+        } finally {
+            probe.end();
         }
     }
 }
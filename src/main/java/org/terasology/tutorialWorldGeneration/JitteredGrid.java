@@ -0,0 +1,72 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.utilities.procedural.Noise;
+import org.terasology.engine.utilities.procedural.WhiteNoise;
+
+/**
+ * Derives candidate positions for discrete objects from a world-aligned grid of square cells. Each cell holds at
+ * most one candidate, at a pseudo-random offset that keeps a margin to the cell's edges.
+ * <p>
+ * A candidate only depends on the seed and its cell, so neighbouring regions always agree on the candidates in their
+ * overlap. Objects that don't reach further than the margin from their position never overlap objects of other cells.
+ * Finding the candidates of an area costs one evaluation per cell instead of one per column.
+ */
+public class JitteredGrid {
+
+    /**
+     * Receives the world coordinates of a candidate column.
+     */
+    @FunctionalInterface
+    public interface CandidateConsumer {
+        void accept(int x, int z);
+    }
+
+    private final Noise noise;
+    private final int cellSize;
+    private final int margin;
+    private final float probability;
+
+    /**
+     * @param seed the seed of the world
+     * @param cellSize the edge length of a cell in blocks
+     * @param margin the minimum distance between a candidate and the edges of its cell
+     * @param probability the chance of a cell to contain a candidate, between 0 and 1
+     */
+    public JitteredGrid(long seed, int cellSize, int margin, float probability) {
+        if (cellSize - 2 * margin <= 0) {
+            throw new IllegalArgumentException("The margin of " + margin + " leaves no room in cells of size "
+                    + cellSize);
+        }
+        this.noise = new WhiteNoise(seed);
+        this.cellSize = cellSize;
+        this.margin = margin;
+        this.probability = probability;
+    }
+
+    /**
+     * Visits all candidates within the given area (inclusive).
+     */
+    public void forEachCandidate(int minX, int minZ, int maxX, int maxZ, CandidateConsumer consumer) {
+        int span = cellSize - 2 * margin;
+        for (int cellZ = Math.floorDiv(minZ, cellSize); cellZ <= Math.floorDiv(maxZ, cellSize); cellZ++) {
+            for (int cellX = Math.floorDiv(minX, cellSize); cellX <= Math.floorDiv(maxX, cellSize); cellX++) {
+                // white noise is in the range [-1, 1]
+                if ((noise.noise(cellX, cellZ, 0) + 1) / 2 >= probability) {
+                    continue;
+                }
+                int x = cellX * cellSize + margin + offset(noise.noise(cellX, cellZ, 1), span);
+                int z = cellZ * cellSize + margin + offset(noise.noise(cellX, cellZ, 2), span);
+                if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                    consumer.accept(x, z);
+                }
+            }
+        }
+    }
+
+    private static int offset(float noiseValue, int span) {
+        return Math.min((int) ((noiseValue + 1) / 2 * span), span - 1);
+    }
+}
@@ -17,7 +17,8 @@ package org.terasology.tutorialWorldGeneration;
 
 import org.joml.Math;
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.utilities.procedural.BrownianNoise;
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
@@ -26,15 +27,28 @@ import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.generation.ConfigurableFacetProvider;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.ScalableFacetProvider;
 import org.terasology.engine.world.generation.Updates;
 import org.terasology.engine.world.generation.facets.ElevationFacet;
 import org.terasology.gestalt.entitysystem.component.Component;
 import org.terasology.nui.properties.Range;
 
 @Updates(@Facet(ElevationFacet.class))
-public class MountainsProvider implements ConfigurableFacetProvider {
+public class MountainsProvider implements ConfigurableFacetProvider, ScalableFacetProvider {
 
-    private Noise mountainNoise;
+    private static final StageStatistics STAGE = StageInstrumentation.stage("MountainsProvider");
+
+    private static final Logger logger = LoggerFactory.getLogger(MountainsProvider.class);
+    private static final int OCTAVES = 8;
+
+    /**
+     * Everything derived from the seed, replaced as a whole so that concurrent generation never mixes two seeds.
+     */
+    private volatile MountainNoise mountainNoise;
+    /**
+     * Identifies the seed and the settings the sampled noise depends on, see {@link #setSeed(long)}.
+     */
+    private String noiseKey;
 
     //Be sure to initialize this!
     private MountainsConfiguration configuration = new MountainsConfiguration();
@@ -43,27 +57,107 @@ public class MountainsProvider implements ConfigurableFacetProvider {
     public void setSeed(long seed) {
         final float zoomRatio = 0.01f;
         float mountainNoiseZoom = configuration.mountainNoiseZoomRatio * zoomRatio;
+        int sampleRate = (int) configuration.mountainNoiseSampleRate;
+        // only the raw noise is cached, the mountain height is applied when composing the elevation. Changing it, e.g.
+        // with the slider of the preview, keeps the sampled tiles and only composes them again.
+        String configurationKey = "zoom=" + mountainNoiseZoom + ";sampleRate=" + sampleRate;
+        String noiseKey = seed + ";" + configurationKey
+                + ";tiles=" + getTileCacheSize() + ";disk=" + getDiskCacheSize();
+        if (noiseKey.equals(this.noiseKey)) {
+            return;
+        }
+        this.noiseKey = noiseKey;
+
         // Default zoom is 0.001f. Max zoom is 0.01f
-        mountainNoise = new SubSampledNoise(new BrownianNoise(new SimplexNoise(seed + 2), 8),
-                new Vector2f(mountainNoiseZoom, mountainNoiseZoom), 1);
+        Noise simplexNoise = new SimplexNoise(seed + 2);
+        Noise brownianNoise = new BrownianNoise(simplexNoise, OCTAVES);
+        Vector2f zoom = new Vector2f(mountainNoiseZoom, mountainNoiseZoom);
+        // the noise is very low frequency, so it may be sampled on a coarser lattice and interpolated in between
+        Noise noise = new SubSampledNoise(brownianNoise, zoom, sampleRate);
+        float maxNoiseError = 0;
+        if (sampleRate > 1) {
+            // the mountain contribution is linear in the mountain height, so the error is computed for a height of 1
+            maxNoiseError = NoiseSamplingError.maxHeightError(new SubSampledNoise(brownianNoise, zoom, 1), noise,
+                    mountainNoiseZoom, value -> addMountainHeight(0, (float) value, 1));
+            logger.info("Sampling mountain noise every {} blocks, max height error: {}", sampleRate,
+                    maxNoiseError * configuration.mountainHeight);
+        }
+        NoiseTileStore store = NoiseTileStore.open("Mountains", seed, configurationKey, getDiskCacheSize());
+        NoiseTileCache tiles = new NoiseTileCache(noise, getTileCacheSize(), store);
+        ElevationLod lod = new ElevationLod(noise, simplexNoise, OCTAVES, mountainNoiseZoom,
+                fractalNoise -> new SubSampledNoise(fractalNoise, zoom, sampleRate));
+        mountainNoise = new MountainNoise(tiles, lod, maxNoiseError);
     }
 
     @Override
     public void process(GeneratingRegion region) {
-        ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
-        float mountainHeight = configuration.mountainHeight;
-        // loop through every position on our 2d array
-        BlockAreac processArea = facet.getWorldArea();
-        for (Vector2ic position : processArea) {
-            // scale our max mountain height to noise (between -1 and 1)
-            float additiveMountainHeight = mountainNoise.noise(position.x(), position.y()) * mountainHeight;
-            // don't bother subtracting mountain height,  that will allow unaffected regions
-            additiveMountainHeight = Math.clamp(additiveMountainHeight, 0, mountainHeight);
-
-            facet.setWorld(position, facet.getWorld(position) + additiveMountainHeight);
+        process(region, 1);
+    }
+
+    @Override
+    public void process(GeneratingRegion region, float scale) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
+            float mountainHeight = configuration.mountainHeight;
+            // sample the noise for the whole 2d area at once and update the facet data in place
+            float[] heights = facet.getInternal();
+            float[] mountainNoiseValues = sampleNoise(facet.getWorldArea(), scale);
+            for (int i = 0; i < heights.length; i++) {
+                heights[i] = addMountainHeight(heights[i], mountainNoiseValues[i], mountainHeight);
+            }
+        } finally {
+            probe.end();
         }
     }
 
+    float[] sampleNoise(BlockAreac area, float scale) {
+        MountainNoise current = mountainNoise;
+        if (scale == 1) {
+            return current.tiles.noise(area);
+        }
+        // distant terrain only needs the low octaves, see ElevationLod
+        return current.lod.getNoise(scale).noise(area, scale);
+    }
+
+    /**
+     * @return the maximum height error caused by the configured sample rate, compared to sampling every block
+     */
+    public float getMaxHeightError() {
+        return mountainNoise.maxNoiseError * configuration.mountainHeight;
+    }
+
+    int getTileCacheSize() {
+        return (int) configuration.tileCacheSize;
+    }
+
+    void setTileCacheSize(int tileCacheSize) {
+        configuration.tileCacheSize = tileCacheSize;
+    }
+
+    int getDiskCacheSize() {
+        return (int) configuration.diskCacheSize;
+    }
+
+    /**
+     * @return the cache holding the sampled mountain noise, with its hit and miss counters
+     */
+    public NoiseTileCache getTileCache() {
+        return mountainNoise.tiles;
+    }
+
+    /**
+     * Raises the given height by the mountain contribution of a noise value (between -1 and 1).
+     */
+    static float addMountainHeight(float height, float noiseValue, float mountainHeight) {
+        // scale our max mountain height to noise (between -1 and 1)
+        float additiveMountainHeight = noiseValue * mountainHeight;
+        // don't bother subtracting mountain height,  that will allow unaffected regions
+        additiveMountainHeight = Math.clamp(additiveMountainHeight, 0, mountainHeight);
+
+        return height + additiveMountainHeight;
+    }
+
     @Override
     public String getConfigurationName() {
         return "Mountains";
@@ -79,6 +173,24 @@ public class MountainsProvider implements ConfigurableFacetProvider {
         this.configuration = (MountainsConfiguration) configuration;
     }
 
+    /**
+     * The sampled mountain noise of one seed and configuration.
+     */
+    private static final class MountainNoise {
+        private final NoiseTileCache tiles;
+        private final ElevationLod lod;
+        /**
+         * The maximum error caused by the sample rate for a mountain height of 1.
+         */
+        private final float maxNoiseError;
+
+        private MountainNoise(NoiseTileCache tiles, ElevationLod lod, float maxNoiseError) {
+            this.tiles = tiles;
+            this.lod = lod;
+            this.maxNoiseError = maxNoiseError;
+        }
+    }
+
     private static class MountainsConfiguration implements Component<MountainsConfiguration> {
         @Range(min = 200, max = 500f, increment = 20f, precision = 1, description = "Mountain Height")
         private float mountainHeight = 400;
@@ -86,10 +198,22 @@ public class MountainsProvider implements ConfigurableFacetProvider {
         @Range(min = 0.1f, max = 1f, increment = 0.1f, precision = 1, description = "Mountain Noise Zoom (Ratio)")
         private float mountainNoiseZoomRatio = 0.1f;
 
+        @Range(min = 1, max = 8, increment = 1, precision = 0, description = "Mountain Noise Sample Rate (Blocks)")
+        private float mountainNoiseSampleRate = 1;
+
+        @Range(min = 0, max = 4096, increment = 64, precision = 0, description = "Tile Cache Size (32x32 tiles)")
+        private float tileCacheSize = 1024;
+
+        @Range(min = 0, max = 1024, increment = 16, precision = 0, description = "Disk Cache Size (MB, 0 = off)")
+        private float diskCacheSize = 0;
+
         @Override
         public void copyFrom(MountainsConfiguration other) {
             this.mountainHeight = other.mountainHeight;
             this.mountainNoiseZoomRatio = other.mountainNoiseZoomRatio;
+            this.mountainNoiseSampleRate = other.mountainNoiseSampleRate;
+            this.tileCacheSize = other.tileCacheSize;
+            this.diskCacheSize = other.diskCacheSize;
         }
     }
 }
@@ -0,0 +1,338 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.core.PathManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The files behind a {@link NoiseTileStore}.
+ * <p>
+ * Tiles are grouped into region files of {@value NoiseTileStore#REGION_TILES}&times;
+ * {@value NoiseTileStore#REGION_TILES} tiles, each of which is memory mapped once when it is first used and then read
+ * and written in place. A region file starts with one byte per tile telling whether the tile was stored, followed by
+ * the tiles. The region files of a layer live in a directory named after the seed and a hash of the noise
+ * configuration, so stores of different worlds or previews never touch each other's files.
+ * <p>
+ * All stores of a layer share one {@link Layer}, which keeps the size limit of the layer and the last use of each of
+ * its region files. When the region files together grow beyond the limit, the least recently used ones are deleted,
+ * whichever seed or configuration they belong to, except for the ones any store has mapped right now.
+ */
+final class NoiseRegionFiles {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoiseRegionFiles.class);
+
+    private static final int REGION_TILES = NoiseTileStore.REGION_TILES;
+    private static final int TILE_VALUES = NoiseTileCache.TILE_SIZE * NoiseTileCache.TILE_SIZE;
+    private static final int TILE_BYTES = TILE_VALUES * Float.BYTES;
+    private static final int HEADER_BYTES = REGION_TILES * REGION_TILES;
+    private static final int REGION_BYTES = HEADER_BYTES + REGION_TILES * REGION_TILES * TILE_BYTES;
+    private static final String REGION_SUFFIX = ".region";
+    private static final String KEY_FILE = "key";
+    /**
+     * The number of region files kept mapped. Mappings are released by the garbage collector, this only bounds how
+     * many of them the store keeps alive.
+     */
+    private static final int MAX_MAPPED_REGIONS = 64;
+    /**
+     * The share of the size limit the layer is trimmed down to on eviction, so that not every new region evicts one.
+     */
+    private static final float EVICTION_TARGET = 0.9f;
+
+    /**
+     * The layers opened so far, by their directory.
+     */
+    private static final Map<Path, Layer> LAYERS = new HashMap<>();
+
+    private final Layer layer;
+    private final Path directory;
+    /**
+     * The regions mapped by this store, each of which is pinned in the layer while it is in here. The lock only
+     * guards the map, files are never touched while holding it.
+     */
+    private final Map<Long, MappedRegion> regions = new LinkedHashMap<Long, MappedRegion>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MappedRegion> eldest) {
+            if (size() > MAX_MAPPED_REGIONS) {
+                layer.unpin(eldest.getValue().file);
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private NoiseRegionFiles(Layer layer, Path directory) {
+        this.layer = layer;
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the files of a noise layer in the cache directory of the game.
+     *
+     * @return the files, or null if the game has no home directory
+     * @see NoiseTileStore#open(String, long, String, int)
+     */
+    static NoiseRegionFiles open(String layer, long seed, String configurationKey, long maxBytes) throws IOException {
+        Path homePath = PathManager.getInstance().getHomePath();
+        if (homePath == null) {
+            logger.warn("No home path, not storing {} noise tiles on disk", layer);
+            return null;
+        }
+        Path layerDirectory = homePath.resolve("cache").resolve("TutorialWorldGeneration").resolve(layer);
+        return open(layerDirectory, seed, configurationKey, maxBytes);
+    }
+
+    static NoiseRegionFiles open(Path layerDirectory, long seed, String configurationKey, long maxBytes)
+            throws IOException {
+        Layer layer;
+        synchronized (LAYERS) {
+            layer = LAYERS.get(layerDirectory);
+            if (layer == null) {
+                layer = new Layer(layerDirectory);
+                LAYERS.put(layerDirectory, layer);
+            }
+        }
+        layer.setMaxBytes(maxBytes);
+
+        String name = Long.toHexString(seed) + "-" + Integer.toHexString(configurationKey.hashCode());
+        Path directory = layerDirectory.resolve(name);
+        layer.prepareDirectory(directory, configurationKey);
+        return new NoiseRegionFiles(layer, directory);
+    }
+
+    float[] read(int tileX, int tileZ) {
+        MappedByteBuffer region = getRegion(Math.floorDiv(tileX, REGION_TILES), Math.floorDiv(tileZ, REGION_TILES));
+        if (region == null) {
+            return null;
+        }
+        int index = getTileIndex(tileX, tileZ);
+        synchronized (region) {
+            if (region.get(index) == 0) {
+                return null;
+            }
+            float[] tile = new float[TILE_VALUES];
+            region.duplicate().position(HEADER_BYTES + index * TILE_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer().get(tile);
+            return tile;
+        }
+    }
+
+    void write(int tileX, int tileZ, float[] tile) {
+        MappedByteBuffer region = getRegion(Math.floorDiv(tileX, REGION_TILES), Math.floorDiv(tileZ, REGION_TILES));
+        if (region == null) {
+            return;
+        }
+        int index = getTileIndex(tileX, tileZ);
+        synchronized (region) {
+            region.duplicate().position(HEADER_BYTES + index * TILE_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer().put(tile);
+            // marked as stored only once the values are written
+            region.put(index, (byte) 1);
+        }
+    }
+
+    long getSizeBytes() {
+        return layer.getSizeBytes();
+    }
+
+    long getMaxBytes() {
+        return layer.getMaxBytes();
+    }
+
+    /**
+     * @return the mapping of a region file, which is created if it does not exist yet, or null if it cannot be used
+     */
+    private MappedByteBuffer getRegion(int regionX, int regionZ) {
+        long key = ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+        synchronized (regions) {
+            MappedRegion region = regions.get(key);
+            if (region != null) {
+                return region.buffer;
+            }
+        }
+
+        // pinned before it is mapped, so that no store evicts it in between
+        Path file = getRegionFile(regionX, regionZ);
+        layer.pin(file);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // mapping beyond the end grows a new file, its header reads as all tiles missing
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_BYTES);
+            // the modification time keeps the last use for the eviction when the layer is opened again
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            layer.unpin(file);
+            logger.debug("Failed to map noise tile region {}", file, e);
+            return null;
+        }
+
+        synchronized (regions) {
+            MappedRegion region = regions.get(key);
+            if (region != null) {
+                // another thread mapped the same region in the meantime, which holds the pin of the store
+                layer.unpin(file);
+                return region.buffer;
+            }
+            regions.put(key, new MappedRegion(file, buffer));
+        }
+        layer.used(file);
+        return buffer;
+    }
+
+    private Path getRegionFile(int regionX, int regionZ) {
+        return directory.resolve(regionX + "_" + regionZ + REGION_SUFFIX);
+    }
+
+    private static int getTileIndex(int tileX, int tileZ) {
+        return Math.floorMod(tileX, REGION_TILES) + REGION_TILES * Math.floorMod(tileZ, REGION_TILES);
+    }
+
+    private static boolean hasKey(Path keyFile, String configurationKey) throws IOException {
+        return Files.exists(keyFile) && Files.readString(keyFile, StandardCharsets.UTF_8).equals(configurationKey);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static final class MappedRegion {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+
+        private MappedRegion(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * The region files of a layer shared by all of its stores, with the last use of each of them and the number of
+     * stores that have mapped it. The size limit is the one of the store opened last. The directory is only listed
+     * once, when the layer is first opened. The lock is only taken when a store maps a region, and while evicting.
+     */
+    private static final class Layer {
+        private final Map<Path, Long> lastUses = new HashMap<>();
+        private final Map<Path, Integer> pins = new HashMap<>();
+        private long maxBytes;
+
+        private Layer(Path directory) throws IOException {
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> files = Files.walk(directory, 2)) {
+                    files.filter(file -> file.getFileName().toString().endsWith(REGION_SUFFIX))
+                            .forEach(file -> lastUses.put(file, lastModifiedMillis(file)));
+                }
+            }
+        }
+
+        synchronized void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized long getMaxBytes() {
+            return maxBytes;
+        }
+
+        synchronized long getSizeBytes() {
+            return (long) lastUses.size() * REGION_BYTES;
+        }
+
+        /**
+         * Creates the directory of a store, unless it exists for the same configuration.
+         */
+        synchronized void prepareDirectory(Path directory, String configurationKey) throws IOException {
+            // guards against hash collisions of the configuration key
+            Path keyFile = directory.resolve(KEY_FILE);
+            if (Files.isDirectory(directory) && !hasKey(keyFile, configurationKey)) {
+                if (pins.keySet().stream().anyMatch(file -> file.startsWith(directory))) {
+                    throw new IOException("Noise tile directory " + directory + " is used by another configuration");
+                }
+                lastUses.keySet().removeIf(file -> file.startsWith(directory));
+                deleteRecursively(directory);
+            }
+            if (!Files.isDirectory(directory)) {
+                Files.createDirectories(directory);
+                Files.writeString(keyFile, configurationKey, StandardCharsets.UTF_8);
+            }
+        }
+
+        synchronized void pin(Path file) {
+            pins.merge(file, 1, Integer::sum);
+        }
+
+        synchronized void unpin(Path file) {
+            pins.computeIfPresent(file, (pinned, count) -> count > 1 ? count - 1 : null);
+        }
+
+        /**
+         * Records the use of a region file, and evicts others if it grew the layer beyond the size limit.
+         */
+        synchronized void used(Path file) {
+            boolean added = lastUses.put(file, System.currentTimeMillis()) == null;
+            if (added && getSizeBytes() > maxBytes) {
+                evict();
+            }
+        }
+
+        /**
+         * Deletes the least recently used region files that are not mapped by any store, until the layer fits the
+         * size limit again.
+         */
+        private void evict() {
+            List<Map.Entry<Path, Long>> files = new ArrayList<>(lastUses.entrySet());
+            files.sort(Map.Entry.comparingByValue());
+
+            long targetBytes = (long) (maxBytes * EVICTION_TARGET);
+            for (int i = 0; i < files.size() && getSizeBytes() > targetBytes; i++) {
+                Path file = files.get(i).getKey();
+                if (pins.containsKey(file)) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(file);
+                    lastUses.remove(file);
+                } catch (IOException e) {
+                    // still mapped by a store of another process on a system that does not allow deleting it
+                    logger.debug("Failed to evict noise tile region {}", file, e);
+                }
+            }
+        }
+
+        private static long lastModifiedMillis(Path file) {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+                // already gone, sort it first so that it is dropped before any other region
+                return Long.MIN_VALUE;
+            }
+        }
+    }
+}
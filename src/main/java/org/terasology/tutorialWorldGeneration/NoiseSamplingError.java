@@ -0,0 +1,59 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.utilities.procedural.Noise;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Measures the height error a layer gets when its noise is sampled on a coarse lattice and interpolated in between,
+ * compared to sampling the noise at every block.
+ */
+public final class NoiseSamplingError {
+
+    /**
+     * The number of probe areas along each axis, spread evenly over one period of the noise.
+     */
+    private static final int PROBES_PER_AXIS = 4;
+    /**
+     * The edge length of each probe area in blocks.
+     */
+    private static final int PROBE_SIZE = 32;
+
+    private NoiseSamplingError() {
+    }
+
+    /**
+     * The error is measured on a grid of small areas spread over one full period of the noise along both axes, so
+     * that it covers the whole range of noise values instead of a fraction of a single period.
+     *
+     * @param fullNoise the noise, sampled at every block
+     * @param coarseNoise the same noise, sampled on a coarse lattice
+     * @param zoom the zoom of the noise, i.e. the reciprocal of its period in blocks
+     * @param layerHeight maps a noise value to the height the layer contributes
+     * @return the maximum absolute difference of the layer height over the probe areas
+     */
+    public static float maxHeightError(Noise fullNoise, Noise coarseNoise, float zoom,
+                                       DoubleUnaryOperator layerHeight) {
+        int period = (int) Math.ceil(1 / zoom);
+        int spacing = Math.max(PROBE_SIZE, period / PROBES_PER_AXIS);
+        double maxError = 0;
+        for (int probeZ = 0; probeZ < PROBES_PER_AXIS; probeZ++) {
+            for (int probeX = 0; probeX < PROBES_PER_AXIS; probeX++) {
+                BlockAreac area = new BlockArea(probeX * spacing, probeZ * spacing,
+                        probeX * spacing + PROBE_SIZE - 1, probeZ * spacing + PROBE_SIZE - 1);
+                float[] full = fullNoise.noise(area);
+                float[] coarse = coarseNoise.noise(area);
+                for (int i = 0; i < full.length; i++) {
+                    double error = Math.abs(layerHeight.applyAsDouble(full[i]) - layerHeight.applyAsDouble(coarse[i]));
+                    maxError = Math.max(maxError, error);
+                }
+            }
+        }
+        return (float) maxError;
+    }
+}
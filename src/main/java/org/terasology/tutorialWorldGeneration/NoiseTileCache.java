@@ -0,0 +1,168 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.utilities.procedural.Noise;
+import org.terasology.engine.world.block.BlockArea;
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the values of a noise in fixed, world-aligned square tiles.
+ * <p>
+ * Neighbouring regions overlap because of facet borders, and vertically stacked chunks share the same 2d area, so
+ * the same columns are requested over and over again. Assembling the requested area from cached tiles means each
+ * column is only sampled once, as long as its tile stays in the cache. The least recently used tiles are evicted once
+ * the size limit is reached.
+ * <p>
+ * A cache belongs to one noise instance, which is created for one seed and configuration. Providers create a new
+ * cache together with their noise. Evicted tiles are not lost if the cache is backed by a {@link NoiseTileStore}, a
+ * missing tile is looked up there before sampling it.
+ */
+public class NoiseTileCache {
+
+    /**
+     * The edge length of a tile in blocks.
+     */
+    public static final int TILE_SIZE = 32;
+
+    private final Noise noise;
+    private final int maxTiles;
+    private final Map<Long, float[]> tiles;
+    private final NoiseTileStore store;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param noise the noise to sample
+     * @param maxTiles the maximum number of tiles to keep, 0 disables the cache
+     */
+    public NoiseTileCache(Noise noise, int maxTiles) {
+        this(noise, maxTiles, null);
+    }
+
+    /**
+     * @param noise the noise to sample
+     * @param maxTiles the maximum number of tiles to keep, 0 disables the cache
+     * @param store the on-disk store of the tiles, or null; it is only used while the cache is enabled
+     */
+    public NoiseTileCache(Noise noise, int maxTiles, NoiseTileStore store) {
+        this.noise = noise;
+        this.maxTiles = maxTiles;
+        this.store = store;
+        this.tiles = new LinkedHashMap<Long, float[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, float[]> eldest) {
+                return size() > NoiseTileCache.this.maxTiles;
+            }
+        };
+    }
+
+    /**
+     * Samples the noise for every position of the area, see {@link Noise#noise(BlockAreac)}.
+     *
+     * @return the noise values in row-major order, i.e. the same order as the data of a 2d field facet
+     */
+    public float[] noise(BlockAreac area) {
+        if (maxTiles <= 0) {
+            return noise.noise(area);
+        }
+
+        float[] result = new float[area.area()];
+        int minTileX = Math.floorDiv(area.minX(), TILE_SIZE);
+        int maxTileX = Math.floorDiv(area.maxX(), TILE_SIZE);
+        int minTileZ = Math.floorDiv(area.minY(), TILE_SIZE);
+        int maxTileZ = Math.floorDiv(area.maxY(), TILE_SIZE);
+        for (int tileZ = minTileZ; tileZ <= maxTileZ; tileZ++) {
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                copyFromTile(getTile(tileX, tileZ), tileX * TILE_SIZE, tileZ * TILE_SIZE, area, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Samples the noise for every position of the area with the positions multiplied by the given scale, see
+     * {@link Noise#noise(BlockAreac, float)}.
+     * <p>
+     * Only full-resolution areas go through the cache. A scaled area is a coarse preview, it is generated once per view
+     * and its tiles would just evict the full-resolution ones.
+     */
+    public float[] noise(BlockAreac area, float scale) {
+        if (scale == 1) {
+            return noise(area);
+        }
+        return noise.noise(area, scale);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+
+    /**
+     * @return the on-disk store of the tiles, or null if there is none
+     */
+    public NoiseTileStore getStore() {
+        return store;
+    }
+
+    public int size() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    private float[] getTile(int tileX, int tileZ) {
+        long key = ((long) tileX << 32) | (tileZ & 0xFFFFFFFFL);
+        float[] tile;
+        synchronized (tiles) {
+            tile = tiles.get(key);
+        }
+        if (tile != null) {
+            hits.incrementAndGet();
+            return tile;
+        }
+
+        misses.incrementAndGet();
+        // sample outside of the lock, at worst two threads compute the same (deterministic) tile
+        int minX = tileX * TILE_SIZE;
+        int minZ = tileZ * TILE_SIZE;
+        tile = store != null ? store.read(tileX, tileZ) : null;
+        if (tile == null) {
+            tile = noise.noise(new BlockArea(minX, minZ, minX + TILE_SIZE - 1, minZ + TILE_SIZE - 1));
+            if (store != null) {
+                store.write(tileX, tileZ, tile);
+            }
+        }
+        synchronized (tiles) {
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    private static void copyFromTile(float[] tile, int tileMinX, int tileMinZ, BlockAreac area, float[] result) {
+        int fromX = Math.max(area.minX(), tileMinX);
+        int toX = Math.min(area.maxX(), tileMinX + TILE_SIZE - 1);
+        int fromZ = Math.max(area.minY(), tileMinZ);
+        int toZ = Math.min(area.maxY(), tileMinZ + TILE_SIZE - 1);
+        int length = toX - fromX + 1;
+        for (int z = fromZ; z <= toZ; z++) {
+            int tileIndex = (z - tileMinZ) * TILE_SIZE + (fromX - tileMinX);
+            int resultIndex = (z - area.minY()) * area.getSizeX() + (fromX - area.minX());
+            System.arraycopy(tile, tileIndex, result, resultIndex, length);
+        }
+    }
+}
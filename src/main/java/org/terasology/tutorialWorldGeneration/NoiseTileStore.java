@@ -0,0 +1,85 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Persists the tiles of a {@link NoiseTileCache} on disk, so that reopening a world or previewing the same seed again
+ * reads the noise back instead of sampling it.
+ * <p>
+ * Storing tiles is off unless a disk cache size is configured. It needs direct access to the cache directory of the
+ * game, which the module sandbox may deny, so the files are handled by {@link NoiseRegionFiles}, which is only loaded
+ * when a store is opened. If it cannot be loaded or the directory cannot be used, no store is opened and the tiles
+ * are simply sampled again.
+ */
+public final class NoiseTileStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoiseTileStore.class);
+
+    /**
+     * The edge length of a region in tiles, the unit in which tiles are stored.
+     */
+    public static final int REGION_TILES = 16;
+
+    private final NoiseRegionFiles files;
+
+    private NoiseTileStore(NoiseRegionFiles files) {
+        this.files = files;
+    }
+
+    /**
+     * Opens the store for the tiles of a noise layer in the cache directory of the game.
+     *
+     * @param layer the name of the noise layer, e.g. the provider sampling it
+     * @param seed the seed of the noise
+     * @param configurationKey describes every setting the noise values depend on
+     * @param maxMegabytes the maximum size of all stores of the layer, 0 disables the store
+     * @return the store, or null if it is disabled or the cache directory cannot be used
+     */
+    public static NoiseTileStore open(String layer, long seed, String configurationKey, int maxMegabytes) {
+        if (maxMegabytes <= 0) {
+            return null;
+        }
+        try {
+            NoiseRegionFiles files = NoiseRegionFiles.open(layer, seed, configurationKey, maxMegabytes * 1024L * 1024L);
+            return files != null ? new NoiseTileStore(files) : null;
+        } catch (IOException | UncheckedIOException | SecurityException | LinkageError e) {
+            // a linkage error means the sandbox does not let the module use the file classes at all
+            logger.warn("Failed to open the {} noise tile store, not storing tiles on disk", layer, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a tile, see {@link NoiseTileCache} for the layout of the values.
+     *
+     * @return the tile, or null if it is not stored
+     */
+    public float[] read(int tileX, int tileZ) {
+        return files.read(tileX, tileZ);
+    }
+
+    /**
+     * Stores a tile. Failing to write it is not an error, it is simply sampled again next time.
+     */
+    public void write(int tileX, int tileZ, float[] tile) {
+        files.write(tileX, tileZ, tile);
+    }
+
+    /**
+     * @return the size of the region files of all stores of this layer
+     */
+    public long getSizeBytes() {
+        return files.getSizeBytes();
+    }
+
+    public long getMaxBytes() {
+        return files.getMaxBytes();
+    }
+}
@@ -0,0 +1,221 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.facets.base.SparseObjectFacet3D;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A sparse facet for structures placed at single blocks. It is a {@link SparseObjectFacet3D}, so code written against
+ * that facet keeps working, but it stores its entries without boxed keys; the map of the supertype stays empty.
+ * <p>
+ * The positions are packed into longs, relative to the facet's world region with 21 bits per axis, and stored in an
+ * open addressing hash table. Structures are usually stateless, so a single shared instance can be placed everywhere.
+ * Entries can be set or replaced, but not removed.
+ * <p>
+ * The entry maps box positions just like those of {@code SparseObjectFacet3D} do, {@link #forEachWorld} visits the
+ * entries without allocating.
+ *
+ * @param <T> the type of the structures
+ */
+public class SparseStructureFacet<T> extends SparseObjectFacet3D<T> {
+
+    /**
+     * Receives the world position and value of an entry.
+     *
+     * @param <T> the type of the structures
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<T> {
+        void accept(int x, int y, int z, T value);
+    }
+
+    private static final int AXIS_BITS = 21;
+    private static final long AXIS_MASK = (1L << AXIS_BITS) - 1;
+    /**
+     * Packed keys never set the sign bit, so this marks free slots.
+     */
+    private static final long FREE = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int worldMinX;
+    private final int worldMinY;
+    private final int worldMinZ;
+    /**
+     * The world position of relative position (0, 0, 0).
+     */
+    private final Vector3ic relativeOrigin;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    public SparseStructureFacet(BlockRegion targetRegion, Border3D border) {
+        super(targetRegion, border);
+        BlockRegion worldRegion = getWorldRegion();
+        if (worldRegion.getSizeX() > AXIS_MASK || worldRegion.getSizeY() > AXIS_MASK
+                || worldRegion.getSizeZ() > AXIS_MASK) {
+            throw new IllegalArgumentException("Region too large for packed positions: " + worldRegion);
+        }
+        worldMinX = worldRegion.minX();
+        worldMinY = worldRegion.minY();
+        worldMinZ = worldRegion.minZ();
+        BlockRegion relativeRegion = getRelativeRegion();
+        relativeOrigin = new Vector3i(worldMinX - relativeRegion.minX(), worldMinY - relativeRegion.minY(),
+                worldMinZ - relativeRegion.minZ());
+        keys = newKeys(INITIAL_CAPACITY);
+        values = new Object[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public T get(Vector3ic pos) {
+        return get(pos.x(), pos.y(), pos.z());
+    }
+
+    @Override
+    public T get(int x, int y, int z) {
+        return getWorld(x + relativeOrigin.x(), y + relativeOrigin.y(), z + relativeOrigin.z());
+    }
+
+    @Override
+    public void set(Vector3ic pos, T value) {
+        set(pos.x(), pos.y(), pos.z(), value);
+    }
+
+    @Override
+    public void set(int x, int y, int z, T value) {
+        setWorld(x + relativeOrigin.x(), y + relativeOrigin.y(), z + relativeOrigin.z(), value);
+    }
+
+    @Override
+    public T getWorld(Vector3ic pos) {
+        return getWorld(pos.x(), pos.y(), pos.z());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getWorld(int x, int y, int z) {
+        long key = packWorld(x, y, z);
+        for (int slot = slot(key, keys.length); keys[slot] != FREE; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == key) {
+                return (T) values[slot];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void setWorld(Vector3ic pos, T value) {
+        setWorld(pos.x(), pos.y(), pos.z(), value);
+    }
+
+    @Override
+    public void setWorld(int x, int y, int z, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Entries of a sparse structure facet cannot be removed");
+        }
+        long key = packWorld(x, y, z);
+        int slot = slot(key, keys.length);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (2 * size > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits all entries with their world positions, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachWorld(EntryConsumer<? super T> consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            long key = keys[slot];
+            if (key != FREE) {
+                consumer.accept(worldMinX + (int) (key >>> (2 * AXIS_BITS)),
+                        worldMinY + (int) ((key >>> AXIS_BITS) & AXIS_MASK),
+                        worldMinZ + (int) (key & AXIS_MASK),
+                        (T) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return a new map of all entries by their world position; {@link #forEachWorld} visits them without allocating
+     */
+    @Override
+    public Map<Vector3ic, T> getWorldEntries() {
+        Map<Vector3ic, T> entries = new HashMap<>();
+        forEachWorld((x, y, z, value) -> entries.put(new Vector3i(x, y, z), value));
+        return entries;
+    }
+
+    /**
+     * @return a new map of all entries by their position relative to the facet's region
+     */
+    @Override
+    public Map<Vector3ic, T> getRelativeEntries() {
+        Map<Vector3ic, T> entries = new HashMap<>();
+        forEachWorld((x, y, z, value) -> entries.put(new Vector3i(x, y, z).sub(relativeOrigin), value));
+        return entries;
+    }
+
+    private long packWorld(int x, int y, int z) {
+        if (!getWorldRegion().contains(x, y, z)) {
+            throw new IllegalArgumentException(String.format("Out of bounds: (%d, %d, %d) for region %s",
+                    x, y, z, getWorldRegion()));
+        }
+        return ((long) (x - worldMinX) << (2 * AXIS_BITS)) | ((long) (y - worldMinY) << AXIS_BITS) | (z - worldMinZ);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = newKeys(oldKeys.length * 2);
+        values = new Object[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(oldKeys[i], keys.length);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static long[] newKeys(int capacity) {
+        long[] newKeys = new long[capacity];
+        Arrays.fill(newKeys, FREE);
+        return newKeys;
+    }
+
+    private static int slot(long key, int capacity) {
+        // spread the bits of all three axes over the slot index
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (capacity - 1);
+    }
+}
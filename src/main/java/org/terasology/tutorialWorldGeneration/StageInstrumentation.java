@@ -0,0 +1,93 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in measurement of the stages of the world generation pipeline: each facet provider and rasterizer of this module
+ * records the number and duration of its calls in a {@link StageStatistics}, and a summary of all stages is logged
+ * once a minute while generation is running.
+ * <p>
+ * The engine discovers the facets of providers and rasterizers from their annotations, so they cannot simply be
+ * wrapped. Instead the classes of this module call {@link StageStatistics#begin()} themselves. Foreign providers and
+ * rasterizers, like the zones' block rasterizers, are not covered.
+ * <p>
+ * Instrumentation is disabled by default and can be enabled by the system property
+ * {@code tutorialWorldGeneration.instrumentation} or {@link #setEnabled(boolean)}. It only measures time, the
+ * allocations of each stage are measured by the {@code WorldGenerationHarness} of the benchmarks.
+ */
+public final class StageInstrumentation {
+
+    private static final Logger logger = LoggerFactory.getLogger(StageInstrumentation.class);
+    private static final long SUMMARY_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Map<String, StageStatistics> STAGES = new ConcurrentHashMap<>();
+    private static final AtomicLong LAST_SUMMARY = new AtomicLong(System.nanoTime());
+
+    private static volatile boolean enabled = Boolean.getBoolean("tutorialWorldGeneration.instrumentation");
+
+    private StageInstrumentation() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        StageInstrumentation.enabled = enabled;
+    }
+
+    /**
+     * @param name the name of the stage, usually the simple name of the provider or rasterizer class
+     * @return the statistics of the stage with the given name, which are created on first use
+     */
+    public static StageStatistics stage(String name) {
+        return STAGES.computeIfAbsent(name, StageStatistics::new);
+    }
+
+    /**
+     * @return the statistics of all stages known so far
+     */
+    public static Collection<StageStatistics> getStages() {
+        return new ArrayList<>(STAGES.values());
+    }
+
+    /**
+     * Logs the statistics of all stages that were called, ordered by their total time.
+     */
+    public static void logSummary() {
+        List<StageStatistics> stages = new ArrayList<>(STAGES.values());
+        stages.removeIf(stage -> stage.getCalls() == 0);
+        stages.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        StringBuilder summary = new StringBuilder("World generation stages:");
+        for (StageStatistics stage : stages) {
+            summary.append(String.format("%n  %-28s %10d calls, %10.1f ms total, mean %8.1f us, p50 < %6d us, "
+                            + "p99 < %6d us",
+                    stage.getName(), stage.getCalls(), stage.getTotalNanos() / 1e6, stage.getMeanMicros(),
+                    stage.getLatencyPercentileMicros(0.5), stage.getLatencyPercentileMicros(0.99)));
+        }
+        logger.info("{}", summary);
+    }
+
+    /**
+     * Logs the summary if the last one is more than a minute ago. Called after each recorded stage, so that no timer
+     * thread is needed.
+     */
+    static void maybeLogSummary(long now) {
+        long last = LAST_SUMMARY.get();
+        if (now - last > SUMMARY_INTERVAL && LAST_SUMMARY.compareAndSet(last, now)) {
+            logSummary();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The measurements of one stage of the world generation pipeline: how often it was called and how long the calls
+ * took. Latencies are kept in a histogram with power-of-two buckets of microseconds.
+ *
+ * @see StageInstrumentation
+ */
+public class StageStatistics {
+
+    private static final int BUCKETS = 32;
+
+    private final String name;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final ThreadLocal<Probe> probes = ThreadLocal.withInitial(() -> new Probe(this));
+
+    public StageStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts measuring a call of the stage, which has to be finished with {@link Probe#end()}. Nothing is measured if
+     * instrumentation is disabled.
+     */
+    public Probe begin() {
+        if (!StageInstrumentation.isEnabled()) {
+            return Probe.DISABLED;
+        }
+        Probe probe = probes.get();
+        probe.startNanos = System.nanoTime();
+        return probe;
+    }
+
+    /**
+     * Records a call that was measured by the caller, e.g. a stage that is timed from the outside.
+     *
+     * @param nanos the duration of the call
+     */
+    public void record(long nanos) {
+        calls.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        long micros = nanos / 1000;
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        histogram.incrementAndGet(bucket);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public double getMeanMicros() {
+        long count = calls.get();
+        return count == 0 ? 0 : totalNanos.get() / 1000.0 / count;
+    }
+
+    /**
+     * @return the number of calls in each bucket, bucket {@code i} holds latencies below {@code 2^i} microseconds
+     */
+    public long[] getHistogram() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * @param percentile the fraction of calls, between 0 and 1
+     * @return the upper bound of the histogram bucket containing the given percentile, in microseconds
+     */
+    public long getLatencyPercentileMicros(double percentile) {
+        long[] counts = getHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long threshold = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold && seen > 0) {
+                return 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A measurement in progress. Each thread reuses its own probe, so measuring does not allocate.
+     */
+    public static final class Probe {
+        private static final Probe DISABLED = new Probe(null);
+
+        private final StageStatistics stage;
+        private long startNanos;
+
+        private Probe(StageStatistics stage) {
+            this.stage = stage;
+        }
+
+        /**
+         * Finishes the measurement and records it in the stage's statistics.
+         */
+        public void end() {
+            if (stage == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            stage.record(now - startNanos);
+            StageInstrumentation.maybeLogSummary(now);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.BlockRegionc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Buckets structures of a sparse facet into square cells by their position, so that the structures overlapping a
+ * given region can be found without testing every single one of them.
+ *
+ * @param <T> the type of the structures
+ */
+public class StructureIndex<T> {
+
+    /**
+     * The edge length of a cell in blocks.
+     */
+    public static final int CELL_SIZE = 16;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The cells are kept in an open addressing hash table with primitive keys, so that looking one up does not box
+     * its key. Every long is a valid cell key, so free slots are those without entries.
+     */
+    private long[] cellKeys = new long[INITIAL_CAPACITY];
+    private Object[] cellEntries = new Object[INITIAL_CAPACITY];
+    private int cellCount;
+    private int maxReach;
+
+    /**
+     * Adds a structure to the index.
+     *
+     * @param position the position of the structure
+     * @param structure the structure
+     * @param bounds the blocks covered by the structure, in world coordinates
+     */
+    public void add(Vector3ic position, T structure, BlockRegionc bounds) {
+        Entry<T> entry = new Entry<>(position, structure, bounds);
+        getOrAddCell(cellKey(position.x(), position.z())).add(entry);
+
+        // remember how far a structure reaches from its position, to know which neighbouring cells to visit
+        maxReach = Math.max(maxReach, Math.max(position.x() - bounds.minX(), bounds.maxX() - position.x()));
+        maxReach = Math.max(maxReach, Math.max(position.z() - bounds.minZ(), bounds.maxZ() - position.z()));
+    }
+
+    /**
+     * Visits every structure whose bounds intersect the given region.
+     */
+    public void forEachIntersecting(BlockRegionc region, Consumer<Entry<T>> consumer) {
+        int minCellX = Math.floorDiv(region.minX() - maxReach, CELL_SIZE);
+        int maxCellX = Math.floorDiv(region.maxX() + maxReach, CELL_SIZE);
+        int minCellZ = Math.floorDiv(region.minZ() - maxReach, CELL_SIZE);
+        int maxCellZ = Math.floorDiv(region.maxZ() + maxReach, CELL_SIZE);
+        for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                List<Entry<T>> entries = getCell(key(cellX, cellZ));
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry<T> entry : entries) {
+                    if (entry.intersects(region)) {
+                        consumer.accept(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds a structure whose bounds contain the given column. This does not allocate, so it is cheap enough to be
+     * called for every mouse move in the world viewer.
+     *
+     * @return the first structure found, or null if there is none
+     */
+    public Entry<T> findAt(int x, int z) {
+        int minCellX = Math.floorDiv(x - maxReach, CELL_SIZE);
+        int maxCellX = Math.floorDiv(x + maxReach, CELL_SIZE);
+        int minCellZ = Math.floorDiv(z - maxReach, CELL_SIZE);
+        int maxCellZ = Math.floorDiv(z + maxReach, CELL_SIZE);
+        for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                List<Entry<T>> entries = getCell(key(cellX, cellZ));
+                if (entries == null) {
+                    continue;
+                }
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry<T> entry = entries.get(i);
+                    BlockRegionc bounds = entry.getBounds();
+                    if (x >= bounds.minX() && x <= bounds.maxX() && z >= bounds.minZ() && z <= bounds.maxZ()) {
+                        return entry;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Entry<T>> getCell(long key) {
+        int mask = cellKeys.length - 1;
+        for (int slot = slot(key, cellKeys.length); cellEntries[slot] != null; slot = (slot + 1) & mask) {
+            if (cellKeys[slot] == key) {
+                return (List<Entry<T>>) cellEntries[slot];
+            }
+        }
+        return null;
+    }
+
+    private List<Entry<T>> getOrAddCell(long key) {
+        List<Entry<T>> entries = getCell(key);
+        if (entries == null) {
+            if (2 * (cellCount + 1) > cellKeys.length) {
+                grow();
+            }
+            entries = new ArrayList<>();
+            insert(cellKeys, cellEntries, key, entries);
+            cellCount++;
+        }
+        return entries;
+    }
+
+    private void grow() {
+        long[] newKeys = new long[cellKeys.length * 2];
+        Object[] newEntries = new Object[cellKeys.length * 2];
+        for (int i = 0; i < cellKeys.length; i++) {
+            if (cellEntries[i] != null) {
+                insert(newKeys, newEntries, cellKeys[i], cellEntries[i]);
+            }
+        }
+        cellKeys = newKeys;
+        cellEntries = newEntries;
+    }
+
+    private static void insert(long[] keys, Object[] entries, long key, Object value) {
+        int slot = slot(key, keys.length);
+        while (entries[slot] != null) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = key;
+        entries[slot] = value;
+    }
+
+    private static int slot(long key, int capacity) {
+        // spread the bits of both cell coordinates over the slot index
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (capacity - 1);
+    }
+
+    private static long cellKey(int x, int z) {
+        return key(Math.floorDiv(x, CELL_SIZE), Math.floorDiv(z, CELL_SIZE));
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A structure in the index, together with its position and bounds.
+     *
+     * @param <T> the type of the structure
+     */
+    public static class Entry<T> {
+        private final Vector3ic position;
+        private final T structure;
+        private final BlockRegionc bounds;
+
+        Entry(Vector3ic position, T structure, BlockRegionc bounds) {
+            this.position = position;
+            this.structure = structure;
+            this.bounds = bounds;
+        }
+
+        public Vector3ic getPosition() {
+            return position;
+        }
+
+        public T getStructure() {
+            return structure;
+        }
+
+        public BlockRegionc getBounds() {
+            return bounds;
+        }
+
+        private boolean intersects(BlockRegionc region) {
+            return bounds.minX() <= region.maxX() && bounds.maxX() >= region.minX()
+                    && bounds.minY() <= region.maxY() && bounds.maxY() >= region.minY()
+                    && bounds.minZ() <= region.maxZ() && bounds.maxZ() >= region.minZ();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunk;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a structure, compiled into a flat list of block offsets relative to the structure's position, each
+ * with the index of the material to place there.
+ * <p>
+ * Stencils are built once per shape. Rasterizing one only touches the blocks the structure actually consists of and
+ * does not allocate.
+ */
+public final class StructureStencil {
+
+    private final int[] offsetsX;
+    private final int[] offsetsY;
+    private final int[] offsetsZ;
+    private final byte[] materials;
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+
+    private StructureStencil(Builder builder) {
+        int size = builder.size;
+        this.offsetsX = Arrays.copyOf(builder.offsetsX, size);
+        this.offsetsY = Arrays.copyOf(builder.offsetsY, size);
+        this.offsetsZ = Arrays.copyOf(builder.offsetsZ, size);
+        this.materials = Arrays.copyOf(builder.materials, size);
+        this.minX = min(offsetsX);
+        this.minY = min(offsetsY);
+        this.minZ = min(offsetsZ);
+        this.maxX = max(offsetsX);
+        this.maxY = max(offsetsY);
+        this.maxZ = max(offsetsZ);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of blocks in the stencil
+     */
+    public int size() {
+        return materials.length;
+    }
+
+    /**
+     * @param origin the position of the structure
+     * @return the blocks covered by the structure, in world coordinates
+     */
+    public BlockRegion getBounds(Vector3ic origin) {
+        return new BlockRegion(origin.x() + minX, origin.y() + minY, origin.z() + minZ,
+                origin.x() + maxX, origin.y() + maxY, origin.z() + maxZ);
+    }
+
+    /**
+     * Places the blocks of the structure that lie within the chunk.
+     *
+     * @param chunk the chunk to write to
+     * @param chunkRegion the world region covered by the chunk
+     * @param origin the position of the structure
+     * @param blocks the block for each material index used in the stencil
+     */
+    public void rasterize(Chunk chunk, BlockRegionc chunkRegion, Vector3ic origin, Block[] blocks) {
+        // the box of the chunk, relative to the structure's origin
+        int fromX = chunkRegion.minX() - origin.x();
+        int fromY = chunkRegion.minY() - origin.y();
+        int fromZ = chunkRegion.minZ() - origin.z();
+        int toX = chunkRegion.maxX() - origin.x();
+        int toY = chunkRegion.maxY() - origin.y();
+        int toZ = chunkRegion.maxZ() - origin.z();
+        if (maxX < fromX || minX > toX || maxY < fromY || minY > toY || maxZ < fromZ || minZ > toZ) {
+            return;
+        }
+
+        for (int i = 0; i < materials.length; i++) {
+            int x = offsetsX[i];
+            int y = offsetsY[i];
+            int z = offsetsZ[i];
+            if (x >= fromX && x <= toX && y >= fromY && y <= toY && z >= fromZ && z <= toZ) {
+                chunk.setBlock(x - fromX, y - fromY, z - fromZ, blocks[materials[i]]);
+            }
+        }
+    }
+
+    private static int min(int[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+
+    private static int max(int[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    public static final class Builder {
+        private int[] offsetsX = new int[64];
+        private int[] offsetsY = new int[64];
+        private int[] offsetsZ = new int[64];
+        private byte[] materials = new byte[64];
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a block to the stencil.
+         *
+         * @param x the x offset from the structure's position
+         * @param y the y offset from the structure's position
+         * @param z the z offset from the structure's position
+         * @param material the index of the block to place
+         * @return this builder
+         */
+        public Builder add(int x, int y, int z, int material) {
+            if (size == materials.length) {
+                offsetsX = Arrays.copyOf(offsetsX, size * 2);
+                offsetsY = Arrays.copyOf(offsetsY, size * 2);
+                offsetsZ = Arrays.copyOf(offsetsZ, size * 2);
+                materials = Arrays.copyOf(materials, size * 2);
+            }
+            offsetsX[size] = x;
+            offsetsY[size] = y;
+            offsetsZ[size] = z;
+            materials[size] = (byte) material;
+            size++;
+            return this;
+        }
+
+        public StructureStencil build() {
+            return new StructureStencil(this);
+        }
+    }
+}
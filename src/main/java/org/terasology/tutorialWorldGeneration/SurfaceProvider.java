@@ -16,40 +16,111 @@
 package org.terasology.tutorialWorldGeneration;
 
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
-import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.generation.Border3D;
-import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.ConfigurableFacetProvider;
 import org.terasology.engine.world.generation.GeneratingRegion;
 import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.ScalableFacetProvider;
 import org.terasology.engine.world.generation.facets.ElevationFacet;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.nui.properties.Range;
 
 @Produces(ElevationFacet.class)
-public class SurfaceProvider implements FacetProvider {
+public class SurfaceProvider implements ConfigurableFacetProvider, ScalableFacetProvider {
 
-    private Noise surfaceNoise;
+    private static final StageStatistics STAGE = StageInstrumentation.stage("SurfaceProvider");
+
+    private static final float ZOOM = 0.01f;
+
+    private volatile NoiseTileCache surfaceNoise;
+    /**
+     * Identifies the seed and the settings the sampled noise depends on, see {@link #setSeed(long)}.
+     */
+    private String noiseKey;
+
+    private SurfaceConfiguration configuration = new SurfaceConfiguration();
 
     @Override
     public void setSeed(long seed) {
-        surfaceNoise = new SubSampledNoise(new SimplexNoise(seed), new Vector2f(0.01f, 0.01f), 1);
+        String noiseKey = seed + ";tiles=" + configuration.tileCacheSize + ";disk=" + configuration.diskCacheSize;
+        if (noiseKey.equals(this.noiseKey)) {
+            // e.g. only the mountains configuration changed, the sampled surface noise is still valid
+            return;
+        }
+        this.noiseKey = noiseKey;
+
+        Noise noise = new SubSampledNoise(new SimplexNoise(seed), new Vector2f(ZOOM, ZOOM), 1);
+        NoiseTileStore store = NoiseTileStore.open("Surface", seed, "zoom=" + ZOOM, (int) configuration.diskCacheSize);
+        surfaceNoise = new NoiseTileCache(noise, (int) configuration.tileCacheSize, store);
     }
 
     @Override
     public void process(GeneratingRegion region) {
-        // Create our surface height facet (we will get into borders later)
-        Border3D border = region.getBorderForFacet(ElevationFacet.class);
-        ElevationFacet facet = new ElevationFacet(region.getRegion(), border);
-
-        // loop through every position on our 2d array
-        BlockAreac processRegion = facet.getWorldArea();
-        for (Vector2ic position : processRegion) {
-            facet.setWorld(position, surfaceNoise.noise(position.x(), position.y()) * 20);
+        process(region, 1);
+    }
+
+    @Override
+    public void process(GeneratingRegion region, float scale) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            // Create our surface height facet, the border is explained in the Borders chapter of the tutorial
+            Border3D border = region.getBorderForFacet(ElevationFacet.class);
+            ElevationFacet facet = new ElevationFacet(region.getRegion(), border);
+
+            // sample the whole 2d area in one go, the values come back in the same order the facet stores them
+            float[] surfaceHeights = surfaceNoise.noise(facet.getWorldArea(), scale);
+            for (int i = 0; i < surfaceHeights.length; i++) {
+                surfaceHeights[i] = surfaceHeights[i] * 20;
+            }
+            facet.set(surfaceHeights);
+
+            // give our newly created and populated facet to the region
+            region.setRegionFacet(ElevationFacet.class, facet);
+        } finally {
+            probe.end();
         }
+    }
 
-        // give our newly created and populated facet to the region
-        region.setRegionFacet(ElevationFacet.class, facet);
+    /**
+     * @return the cache holding the sampled surface noise, with its hit and miss counters
+     */
+    public NoiseTileCache getTileCache() {
+        return surfaceNoise;
+    }
+
+    void setTileCacheSize(int tileCacheSize) {
+        configuration.tileCacheSize = tileCacheSize;
+    }
+
+    @Override
+    public String getConfigurationName() {
+        return "Surface";
+    }
+
+    @Override
+    public Component getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public void setConfiguration(Component configuration) {
+        this.configuration = (SurfaceConfiguration) configuration;
+    }
+
+    private static class SurfaceConfiguration implements Component<SurfaceConfiguration> {
+        @Range(min = 0, max = 4096, increment = 64, precision = 0, description = "Tile Cache Size (32x32 tiles)")
+        private float tileCacheSize = 1024;
+
+        @Range(min = 0, max = 1024, increment = 16, precision = 0, description = "Disk Cache Size (MB, 0 = off)")
+        private float diskCacheSize = 0;
+
+        @Override
+        public void copyFrom(SurfaceConfiguration other) {
+            this.tileCacheSize = other.tileCacheSize;
+            this.diskCacheSize = other.diskCacheSize;
+        }
     }
 }
@@ -15,7 +15,8 @@
  */
 package org.terasology.tutorialWorldGeneration;
 
-import org.joml.Vector2ic;
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.FacetProvider;
 import org.terasology.engine.world.generation.GeneratingRegion;
@@ -25,12 +26,17 @@ import org.terasology.engine.world.generation.facets.ElevationFacet;
 import org.terasology.engine.world.generation.facets.SurfacesFacet;
 
 /**
- * Copies the data from the ElevationFacet into the SurfacesFacet
+ * Copies the data from the ElevationFacet into the SurfacesFacet, for plugins that work with the engine's facets.
+ * The providers and rasterizers of this module use the more compact {@link ColumnSurfacesFacet} instead, so they do
+ * not see changes plugins make to the SurfacesFacet. Plugins changing the shape of the surface have to update the
+ * ColumnSurfacesFacet as well.
  */
 @Produces(SurfacesFacet.class)
 @Requires(@Facet(ElevationFacet.class))
 public class SurfacesProvider implements FacetProvider {
 
+    private static final StageStatistics STAGE = StageInstrumentation.stage("SurfacesProvider");
+
     @Override
     public void setSeed(long seed) {
 
@@ -38,16 +44,27 @@ public class SurfacesProvider implements FacetProvider {
 
     @Override
     public void process(GeneratingRegion region) {
-        ElevationFacet elevation = region.getRegionFacet(ElevationFacet.class);
-        SurfacesFacet surfacesFacet = new SurfacesFacet(region.getRegion(),
-                region.getBorderForFacet(SurfacesFacet.class));
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet elevation = region.getRegionFacet(ElevationFacet.class);
+            SurfacesFacet surfacesFacet = new SurfacesFacet(region.getRegion(),
+                    region.getBorderForFacet(SurfacesFacet.class));
 
-        for (Vector2ic pos : elevation.getWorldArea()) {
-            int height = (int) Math.ceil(elevation.getWorld(pos)) - 1;
-            if (height >= surfacesFacet.getWorldRegion().minY() && height <= surfacesFacet.getWorldRegion().maxY()) {
-                surfacesFacet.setWorld(pos.x(), height, pos.y(), true);
+            float[] elevations = elevation.getInternal();
+            BlockAreac area = elevation.getWorldArea();
+            BlockRegion worldRegion = surfacesFacet.getWorldRegion();
+            int index = 0;
+            for (int wz = area.minY(); wz <= area.maxY(); wz++) {
+                for (int wx = area.minX(); wx <= area.maxX(); wx++) {
+                    int height = (int) Math.ceil(elevations[index++]) - 1;
+                    if (height >= worldRegion.minY() && height <= worldRegion.maxY()) {
+                        surfacesFacet.setWorld(wx, height, wz, true);
+                    }
+                }
             }
+            region.setRegionFacet(SurfacesFacet.class, surfacesFacet);
+        } finally {
+            probe.end();
         }
-        region.setRegionFacet(SurfacesFacet.class, surfacesFacet);
     }
 }
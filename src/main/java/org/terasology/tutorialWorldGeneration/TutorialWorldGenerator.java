@@ -22,6 +22,7 @@ import org.terasology.engine.world.generation.BaseFacetedWorldGenerator;
 import org.terasology.engine.world.generation.WorldBuilder;
 import org.terasology.engine.world.generator.RegisterWorldGenerator;
 import org.terasology.engine.world.generator.plugin.WorldGeneratorPluginLibrary;
+import org.terasology.tutorialWorldGenerationBiomes.BiomeColumnProvider;
 import org.terasology.tutorialWorldGenerationBiomes.BiomeRasterizer;
 
 @RegisterWorldGenerator(id = "tutorialWorld", displayName = "Tutorial World")
@@ -41,8 +42,11 @@ public class TutorialWorldGenerator extends BaseFacetedWorldGenerator {
                 .addProvider(new SurfaceProvider())
                 .addProvider(new SeaLevelProvider(0))
                 .addProvider(new MountainsProvider())
+                .addProvider(new ElevationEnvelopeProvider())
                 .addProvider(new SurfacesProvider())
+                .addProvider(new ColumnSurfacesProvider())
                 .addProvider(new HouseProvider())
+                .addProvider(new BiomeColumnProvider())
                 .addRasterizer(new TutorialWorldRasterizer())
                 .addRasterizer(new HouseRasterizer())
                 .addRasterizer(new BiomeRasterizer())
@@ -15,20 +15,21 @@
  */
 package org.terasology.tutorialWorldGeneration;
 
-import org.joml.Vector3i;
-import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
-import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.WorldRasterizer;
 import org.terasology.engine.world.generation.facets.ElevationFacet;
-import org.terasology.engine.world.generation.facets.SurfacesFacet;
 
 public class TutorialWorldRasterizer implements WorldRasterizer {
 
+    private static final StageStatistics STAGE = StageInstrumentation.stage("TutorialWorldRasterizer");
+
+    private final ChunkCoverageStatistics statistics = new ChunkCoverageStatistics("TutorialWorldRasterizer");
+
     private Block dirt;
     private Block grass;
 
@@ -38,20 +39,59 @@ public class TutorialWorldRasterizer implements WorldRasterizer {
         grass = CoreRegistry.get(BlockManager.class).getBlock("CoreAssets:Grass");
     }
 
+    public ChunkCoverageStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
-        ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
-        SurfacesFacet surfacesFacet = chunkRegion.getFacet(SurfacesFacet.class);
-
-        // reusing one mutable vector is more efficient than creating a new one for each toRelative()
-        Vector3i tmp = new Vector3i();
-        for (Vector3ic position : chunkRegion.getRegion()) {
-            float surfaceHeight = elevationFacet.getWorld(position.x(), position.z());
-            if (surfacesFacet.getWorld(position)) {
-                chunk.setBlock(Chunks.toRelative(position, tmp), grass);
-            } else if (position.y() < surfaceHeight) {
-                chunk.setBlock(Chunks.toRelative(position, tmp), dirt);
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationEnvelopeFacet envelopeFacet = chunkRegion.getFacet(ElevationEnvelopeFacet.class);
+            BlockRegionc region = chunkRegion.getRegion();
+            ColumnSpanWriter writer = new ColumnSpanWriter(chunk, region);
+
+            if (region.minY() >= envelopeFacet.getMaxElevation()) {
+                // the whole chunk is above the surface, there is nothing to place
+                statistics.record(ChunkCoverageStatistics.Coverage.EMPTY);
+                return;
+            }
+            if (region.maxY() + 1 < envelopeFacet.getMinElevation()) {
+                // the whole chunk is below the surface blocks, so it is dirt all the way
+                for (int wz = region.minZ(); wz <= region.maxZ(); wz++) {
+                    for (int wx = region.minX(); wx <= region.maxX(); wx++) {
+                        writer.fill(wx, wz, region.minY(), region.maxY(), dirt);
+                    }
+                }
+                statistics.record(ChunkCoverageStatistics.Coverage.SOLID);
+                return;
+            }
+            statistics.record(ChunkCoverageStatistics.Coverage.MIXED);
+
+            ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
+            ColumnSurfacesFacet surfacesFacet = chunkRegion.getFacet(ColumnSurfacesFacet.class);
+
+            // the blocks only depend on the column, so look up the facets once per column and fill whole spans
+            for (int wz = region.minZ(); wz <= region.maxZ(); wz++) {
+                for (int wx = region.minX(); wx <= region.maxX(); wx++) {
+                    // everything below the surface height is dirt ...
+                    int surfaceHeight = (int) Math.ceil(elevationFacet.getWorld(wx, wz));
+                    writer.fill(wx, wz, region.minY(), surfaceHeight - 1, dirt);
+                    // ... except for the surface blocks, which are grass
+                    if (surfacesFacet.hasMultipleSurfaces(wx, wz)) {
+                        int x = wx;
+                        int z = wz;
+                        surfacesFacet.forEachWorldSurface(wx, wz, y -> writer.set(x, y, z, grass));
+                    } else {
+                        int surface = surfacesFacet.getWorldHeight(wx, wz);
+                        if (surface != ColumnSurfacesFacet.NO_SURFACE) {
+                            writer.set(wx, surface, wz, grass);
+                        }
+                    }
+                }
             }
+        } finally {
+            probe.end();
         }
     }
 }
@@ -0,0 +1,62 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationBiomes;
+
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.facets.base.BaseFacet2D;
+
+/**
+ * Stores the biomes of each column: the biome of the blocks near the ground ({@link TutorialBiome#LAND} or
+ * {@link TutorialBiome#WATER}) and the height at which the {@link TutorialBiome#SKY} starts.
+ */
+public class BiomeColumnFacet extends BaseFacet2D {
+
+    private final TutorialBiome[] surfaceBiomes;
+    private final int[] skyStarts;
+
+    public BiomeColumnFacet(BlockRegion targetRegion, Border3D border) {
+        super(targetRegion, border);
+        int area = getWorldArea().area();
+        surfaceBiomes = new TutorialBiome[area];
+        skyStarts = new int[area];
+    }
+
+    /**
+     * @return the biome of all blocks of the column below the sky
+     */
+    public TutorialBiome getSurfaceBiome(int x, int z) {
+        return surfaceBiomes[getColumnIndex(x, z)];
+    }
+
+    /**
+     * @return the lowest y coordinate of the column that belongs to the sky
+     */
+    public int getSkyStart(int x, int z) {
+        return skyStarts[getColumnIndex(x, z)];
+    }
+
+    /**
+     * @return the biome of the block at the given world position
+     */
+    public TutorialBiome getWorld(int x, int y, int z) {
+        int index = getColumnIndex(x, z);
+        return y >= skyStarts[index] ? TutorialBiome.SKY : surfaceBiomes[index];
+    }
+
+    public void setWorld(int x, int z, TutorialBiome surfaceBiome, int skyStart) {
+        int index = getColumnIndex(x, z);
+        surfaceBiomes[index] = surfaceBiome;
+        skyStarts[index] = skyStart;
+    }
+
+    private int getColumnIndex(int x, int z) {
+        BlockAreac worldArea = getWorldArea();
+        if (!worldArea.contains(x, z)) {
+            throw new IllegalArgumentException(String.format("Out of bounds: (%d, %d) for region %s", x, z, worldArea));
+        }
+        return x - worldArea.minX() + worldArea.getSizeX() * (z - worldArea.minY());
+    }
+}
@@ -0,0 +1,57 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationBiomes;
+
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.generation.Facet;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.Requires;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+import org.terasology.engine.world.generation.facets.SeaLevelFacet;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
+
+/**
+ * Classifies each column as land or water and determines where its sky starts (10 blocks above the terrain or the
+ * sea level, whichever is higher).
+ */
+@Produces(BiomeColumnFacet.class)
+@Requires({@Facet(SeaLevelFacet.class), @Facet(ElevationFacet.class)})
+public class BiomeColumnProvider implements FacetProvider {
+
+    private static final StageStatistics STAGE = StageInstrumentation.stage("BiomeColumnProvider");
+
+    @Override
+    public void setSeed(long seed) {
+
+    }
+
+    @Override
+    public void process(GeneratingRegion region) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet elevationFacet = region.getRegionFacet(ElevationFacet.class);
+            int seaLevel = region.getRegionFacet(SeaLevelFacet.class).getSeaLevel();
+            BiomeColumnFacet facet = new BiomeColumnFacet(region.getRegion(),
+                    region.getBorderForFacet(BiomeColumnFacet.class));
+
+            BlockAreac worldArea = facet.getWorldArea();
+            for (int wz = worldArea.minY(); wz <= worldArea.maxY(); wz++) {
+                for (int wx = worldArea.minX(); wx <= worldArea.maxX(); wx++) {
+                    float elevation = elevationFacet.getWorld(wx, wz);
+                    TutorialBiome surfaceBiome = elevation + 1 > seaLevel ? TutorialBiome.LAND : TutorialBiome.WATER;
+                    // the sky covers every block strictly above this threshold
+                    float skyThreshold = Math.max(seaLevel, elevation) + 10;
+                    facet.setWorld(wx, wz, surfaceBiome, (int) Math.floor(skyThreshold) + 1);
+                }
+            }
+
+            region.setRegionFacet(BiomeColumnFacet.class, facet);
+        } finally {
+            probe.end();
+        }
+    }
+}
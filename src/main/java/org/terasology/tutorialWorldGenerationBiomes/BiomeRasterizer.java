@@ -15,19 +15,28 @@
  */
 package org.terasology.tutorialWorldGenerationBiomes;
 
+import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.biomesAPI.BiomeRegistry;
 import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.Requires;
 import org.terasology.engine.world.generation.WorldRasterizer;
-import org.terasology.engine.world.generation.facets.ElevationFacet;
 import org.terasology.engine.world.generation.facets.SeaLevelFacet;
+import org.terasology.tutorialWorldGeneration.ChunkCoverageStatistics;
+import org.terasology.tutorialWorldGeneration.ElevationEnvelopeFacet;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
 
-@Requires({@Facet(SeaLevelFacet.class), @Facet(ElevationFacet.class)})
+@Requires({@Facet(SeaLevelFacet.class), @Facet(BiomeColumnFacet.class)})
 public class BiomeRasterizer implements WorldRasterizer {
+    private static final StageStatistics STAGE = StageInstrumentation.stage("BiomeRasterizer");
+
+    private final ChunkCoverageStatistics statistics = new ChunkCoverageStatistics("BiomeRasterizer");
+
     private BiomeRegistry biomeRegistry;
 
     @Override
@@ -35,19 +44,70 @@ public class BiomeRasterizer implements WorldRasterizer {
         biomeRegistry = CoreRegistry.get(BiomeRegistry.class);
     }
 
+    public ChunkCoverageStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
-        ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
-        SeaLevelFacet seaLevelFacet = chunkRegion.getFacet(SeaLevelFacet.class);
-        for (Vector3ic position : chunkRegion.getRegion()) {
-            if (position.y() > Math.max(seaLevelFacet.getSeaLevel(), elevationFacet.getWorld(position.x(),
-                    position.z())) + 10) {
-                biomeRegistry.setBiome(TutorialBiome.SKY, position);
-            } else if (elevationFacet.getWorld(position.x(), position.z()) + 1 > seaLevelFacet.getSeaLevel()) {
-                biomeRegistry.setBiome(TutorialBiome.LAND, position);
-            } else {
-                biomeRegistry.setBiome(TutorialBiome.WATER, position);
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            SeaLevelFacet seaLevelFacet = chunkRegion.getFacet(SeaLevelFacet.class);
+            BlockRegionc region = chunkRegion.getRegion();
+
+            ElevationEnvelopeFacet envelopeFacet = chunkRegion.getFacet(ElevationEnvelopeFacet.class);
+            if (envelopeFacet != null) {
+                TutorialBiome uniformBiome = getUniformBiome(region, seaLevelFacet.getSeaLevel(), envelopeFacet);
+                if (uniformBiome != null) {
+                    for (Vector3ic position : region) {
+                        biomeRegistry.setBiome(uniformBiome, position);
+                    }
+                    statistics.record(uniformBiome == TutorialBiome.SKY
+                            ? ChunkCoverageStatistics.Coverage.EMPTY : ChunkCoverageStatistics.Coverage.SOLID);
+                    return;
+                }
+            }
+            statistics.record(ChunkCoverageStatistics.Coverage.MIXED);
+
+            // each column consists of a run of land or water, followed by a run of sky
+            BiomeColumnFacet biomeColumnFacet = chunkRegion.getFacet(BiomeColumnFacet.class);
+            Vector3i position = new Vector3i();
+            for (int wz = region.minZ(); wz <= region.maxZ(); wz++) {
+                for (int wx = region.minX(); wx <= region.maxX(); wx++) {
+                    int skyStart = biomeColumnFacet.getSkyStart(wx, wz);
+                    setBiomes(wx, wz, region.minY(), Math.min(skyStart - 1, region.maxY()),
+                            biomeColumnFacet.getSurfaceBiome(wx, wz), position);
+                    setBiomes(wx, wz, Math.max(skyStart, region.minY()), region.maxY(), TutorialBiome.SKY, position);
+                }
+            }
+        } finally {
+            probe.end();
+        }
+    }
+
+    private void setBiomes(int wx, int wz, int fromY, int toY, TutorialBiome biome, Vector3i tmp) {
+        for (int wy = fromY; wy <= toY; wy++) {
+            biomeRegistry.setBiome(biome, tmp.set(wx, wy, wz));
+        }
+    }
+
+    /**
+     * Determines whether the whole chunk gets the same biome, based on the elevation envelope of the chunk.
+     *
+     * @return the biome of every block in the chunk, or null if the chunk contains several biomes
+     */
+    private TutorialBiome getUniformBiome(BlockRegionc region, int seaLevel, ElevationEnvelopeFacet envelopeFacet) {
+        if (region.minY() > Math.max(seaLevel, envelopeFacet.getMaxElevation()) + 10) {
+            return TutorialBiome.SKY;
+        }
+        if (region.maxY() <= Math.max(seaLevel, envelopeFacet.getMinElevation()) + 10) {
+            if (envelopeFacet.getMinElevation() + 1 > seaLevel) {
+                return TutorialBiome.LAND;
+            }
+            if (envelopeFacet.getMaxElevation() + 1 <= seaLevel) {
+                return TutorialBiome.WATER;
             }
         }
+        return null;
     }
 }
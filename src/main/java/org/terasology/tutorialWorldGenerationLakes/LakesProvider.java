@@ -16,45 +16,133 @@
 package org.terasology.tutorialWorldGenerationLakes;
 
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.utilities.procedural.BrownianNoise;
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.PerlinNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
-import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.generation.Facet;
+import org.terasology.engine.world.generation.ConfigurableFacetProvider;
 import org.terasology.engine.world.generation.FacetProviderPlugin;
 import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.ScalableFacetProvider;
 import org.terasology.engine.world.generation.Updates;
 import org.terasology.engine.world.generation.facets.ElevationFacet;
 import org.terasology.engine.world.generator.plugin.RegisterPlugin;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.nui.properties.Range;
+import org.terasology.tutorialWorldGeneration.ElevationLod;
+import org.terasology.tutorialWorldGeneration.NoiseSamplingError;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
 
 import static org.joml.Math.clamp;
 
 @RegisterPlugin
 @Updates(@Facet(ElevationFacet.class))
-public class LakesProvider implements FacetProviderPlugin {
+public class LakesProvider implements FacetProviderPlugin, ConfigurableFacetProvider, ScalableFacetProvider {
 
-    private Noise lakeNoise;
+    private static final StageStatistics STAGE = StageInstrumentation.stage("LakesProvider");
+
+    private static final Logger logger = LoggerFactory.getLogger(LakesProvider.class);
+    private static final float LAKE_DEPTH = 40;
+    private static final int OCTAVES = 4;
+
+    /**
+     * Everything derived from the seed, replaced as a whole so that concurrent generation never mixes two seeds.
+     */
+    private volatile LakeNoise lakeNoise;
+
+    private LakesConfiguration configuration = new LakesConfiguration();
 
     @Override
     public void setSeed(long seed) {
-        lakeNoise = new SubSampledNoise(
-                new BrownianNoise(new PerlinNoise(seed + 3), 4), new Vector2f(0.001f, 0.001f), 1);
+        Noise baseNoise = new PerlinNoise(seed + 3);
+        Noise brownianNoise = new BrownianNoise(baseNoise, OCTAVES);
+        Vector2f zoom = new Vector2f(0.001f, 0.001f);
+        int sampleRate = (int) configuration.sampleRate;
+        Noise noise = new SubSampledNoise(brownianNoise, zoom, sampleRate);
+        ElevationLod lod = new ElevationLod(noise, baseNoise, OCTAVES, zoom.x(),
+                fractalNoise -> new SubSampledNoise(fractalNoise, zoom, sampleRate));
+        float maxHeightError = 0;
+        if (sampleRate > 1) {
+            maxHeightError = NoiseSamplingError.maxHeightError(new SubSampledNoise(brownianNoise, zoom, 1), noise,
+                    zoom.x(), value -> lakeDepth((float) value));
+            logger.info("Sampling lake noise every {} blocks, max height error: {}", sampleRate, maxHeightError);
+        }
+        lakeNoise = new LakeNoise(lod, maxHeightError);
     }
 
     @Override
     public void process(GeneratingRegion region) {
-        ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
-        float lakeDepth = 40;
-        // loop through every position on our 2d array
-        BlockAreac processRegion = facet.getWorldArea();
-        for (Vector2ic position : processRegion) {
-            float additiveLakeDepth = lakeNoise.noise(position.x(), position.y()) * lakeDepth;
-            // dont bother adding lake height,  that will allow unaffected regions
-            additiveLakeDepth = clamp(additiveLakeDepth, -lakeDepth, 0);
-
-            facet.setWorld(position, facet.getWorld(position) + additiveLakeDepth);
+        process(region, 1);
+    }
+
+    @Override
+    public void process(GeneratingRegion region, float scale) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
+            // sample the noise for the whole 2d area at once and update the facet data in place
+            float[] heights = facet.getInternal();
+            float[] lakeNoiseValues = lakeNoise.lod.getNoise(scale).noise(facet.getWorldArea(), scale);
+            for (int i = 0; i < heights.length; i++) {
+                heights[i] = heights[i] + lakeDepth(lakeNoiseValues[i]);
+            }
+        } finally {
+            probe.end();
+        }
+    }
+
+    private static float lakeDepth(float noiseValue) {
+        float additiveLakeDepth = noiseValue * LAKE_DEPTH;
+        // dont bother adding lake height,  that will allow unaffected regions
+        return clamp(additiveLakeDepth, -LAKE_DEPTH, 0);
+    }
+
+    /**
+     * @return the maximum height error caused by the configured sample rate, compared to sampling every block
+     */
+    public float getMaxHeightError() {
+        return lakeNoise.maxHeightError;
+    }
+
+    @Override
+    public String getConfigurationName() {
+        return "Lakes";
+    }
+
+    @Override
+    public Component getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public void setConfiguration(Component configuration) {
+        this.configuration = (LakesConfiguration) configuration;
+    }
+
+    /**
+     * The sampled lake noise of one seed and configuration.
+     */
+    private static final class LakeNoise {
+        private final ElevationLod lod;
+        private final float maxHeightError;
+
+        private LakeNoise(ElevationLod lod, float maxHeightError) {
+            this.lod = lod;
+            this.maxHeightError = maxHeightError;
+        }
+    }
+
+    private static class LakesConfiguration implements Component<LakesConfiguration> {
+        @Range(min = 1, max = 8, increment = 1, precision = 0, description = "Lake Noise Sample Rate (Blocks)")
+        private float sampleRate = 1;
+
+        @Override
+        public void copyFrom(LakesConfiguration other) {
+            this.sampleRate = other.sampleRate;
         }
     }
 }
@@ -15,12 +15,10 @@
  */
 package org.terasology.tutorialWorldGenerationLakes;
 
-import org.joml.Vector3i;
-import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
-import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.Region;
@@ -29,10 +27,19 @@ import org.terasology.engine.world.generation.WorldRasterizerPlugin;
 import org.terasology.engine.world.generation.facets.ElevationFacet;
 import org.terasology.engine.world.generation.facets.SeaLevelFacet;
 import org.terasology.engine.world.generator.plugin.RegisterPlugin;
+import org.terasology.tutorialWorldGeneration.ChunkCoverageStatistics;
+import org.terasology.tutorialWorldGeneration.ColumnSpanWriter;
+import org.terasology.tutorialWorldGeneration.ElevationEnvelopeFacet;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
 
 @RegisterPlugin
 @Requires({@Facet(SeaLevelFacet.class), @Facet(ElevationFacet.class)})
 public class LakesRasterizer implements WorldRasterizerPlugin {
+    private static final StageStatistics STAGE = StageInstrumentation.stage("LakesRasterizer");
+
+    private final ChunkCoverageStatistics statistics = new ChunkCoverageStatistics("LakesRasterizer");
+
     private Block water;
 
     @Override
@@ -40,19 +47,51 @@ public class LakesRasterizer implements WorldRasterizerPlugin {
         water = CoreRegistry.get(BlockManager.class).getBlock("CoreAssets:Water");
     }
 
+    public ChunkCoverageStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
-        ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
-        SeaLevelFacet seaLevelFacet = chunkRegion.getFacet(SeaLevelFacet.class);
-        int seaLevel = seaLevelFacet.getSeaLevel();
-
-        Vector3i tmp = new Vector3i();
-        for (Vector3ic position : chunkRegion.getRegion()) {
-            float surfaceHeight = elevationFacet.getWorld(position.x(), position.z());
-            // check to see if the surface is under the sea level and if we are dealing with something above the surface
-            if (position.y() < seaLevel && position.y() > surfaceHeight) {
-                chunk.setBlock(Chunks.toRelative(position, tmp), water);
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
+            SeaLevelFacet seaLevelFacet = chunkRegion.getFacet(SeaLevelFacet.class);
+            int seaLevel = seaLevelFacet.getSeaLevel();
+
+            BlockRegionc region = chunkRegion.getRegion();
+            ColumnSpanWriter writer = new ColumnSpanWriter(chunk, region);
+
+            // the envelope is only available in worlds that provide it, otherwise every chunk is treated as mixed
+            ElevationEnvelopeFacet envelopeFacet = chunkRegion.getFacet(ElevationEnvelopeFacet.class);
+            if (envelopeFacet != null) {
+                if (region.minY() >= seaLevel || region.maxY() <= envelopeFacet.getMinElevation()) {
+                    // the chunk is either above the sea level or below the ground everywhere
+                    statistics.record(ChunkCoverageStatistics.Coverage.EMPTY);
+                    return;
+                }
+                if (region.maxY() < seaLevel && region.minY() > envelopeFacet.getMaxElevation()) {
+                    // the chunk is below the sea level and above the ground everywhere
+                    for (int wz = region.minZ(); wz <= region.maxZ(); wz++) {
+                        for (int wx = region.minX(); wx <= region.maxX(); wx++) {
+                            writer.fill(wx, wz, region.minY(), region.maxY(), water);
+                        }
+                    }
+                    statistics.record(ChunkCoverageStatistics.Coverage.SOLID);
+                    return;
+                }
+            }
+            statistics.record(ChunkCoverageStatistics.Coverage.MIXED);
+
+            for (int wz = region.minZ(); wz <= region.maxZ(); wz++) {
+                for (int wx = region.minX(); wx <= region.maxX(); wx++) {
+                    float surfaceHeight = elevationFacet.getWorld(wx, wz);
+                    // fill everything that is above the surface but still below the sea level
+                    writer.fill(wx, wz, (int) Math.floor(surfaceHeight) + 1, seaLevel - 1, water);
+                }
             }
+        } finally {
+            probe.end();
         }
     }
 }
@@ -4,51 +4,143 @@
 package org.terasology.tutorialWorldGenerationMesas;
 
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.utilities.procedural.BrownianNoise;
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
-import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.generation.ConfigurableFacetProvider;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.FacetProviderPlugin;
 import org.terasology.engine.world.generation.GeneratingRegion;
 import org.terasology.engine.world.generation.Requires;
+import org.terasology.engine.world.generation.ScalableFacetProvider;
 import org.terasology.engine.world.generation.UpdatePriority;
 import org.terasology.engine.world.generation.Updates;
 import org.terasology.engine.world.generation.facets.ElevationFacet;
 import org.terasology.engine.world.generation.facets.SeaLevelFacet;
 import org.terasology.engine.world.generator.plugin.RegisterPlugin;
+import org.terasology.gestalt.entitysystem.component.Component;
+import org.terasology.nui.properties.Range;
+import org.terasology.tutorialWorldGeneration.ElevationLod;
+import org.terasology.tutorialWorldGeneration.NoiseSamplingError;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
 
 @RegisterPlugin
 @Requires(@Facet(SeaLevelFacet.class))
 @Updates(value = @Facet(ElevationFacet.class), priority = UpdatePriority.PRIORITY_LOW)
-public class MesaProvider implements FacetProviderPlugin {
-    private Noise mesaNoise;
+public class MesaProvider implements FacetProviderPlugin, ConfigurableFacetProvider, ScalableFacetProvider {
+    private static final StageStatistics STAGE = StageInstrumentation.stage("MesaProvider");
+
+    private static final Logger logger = LoggerFactory.getLogger(MesaProvider.class);
+    private static final float MESA_HEIGHT = 50;
+    private static final int OCTAVES = 2;
+
+    /**
+     * Everything derived from the seed, replaced as a whole so that concurrent generation never mixes two seeds.
+     */
+    private volatile MesaNoise mesaNoise;
+
+    private MesaConfiguration configuration = new MesaConfiguration();
 
     @Override
     public void setSeed(long seed) {
-        mesaNoise = new SubSampledNoise(new BrownianNoise(new SimplexNoise(seed + 5), 2), new Vector2f(0.001f, 0.001f), 1);
+        Noise baseNoise = new SimplexNoise(seed + 5);
+        Noise brownianNoise = new BrownianNoise(baseNoise, OCTAVES);
+        Vector2f zoom = new Vector2f(0.001f, 0.001f);
+        int sampleRate = (int) configuration.sampleRate;
+        Noise noise = new SubSampledNoise(brownianNoise, zoom, sampleRate);
+        ElevationLod lod = new ElevationLod(noise, baseNoise, OCTAVES, zoom.x(),
+                fractalNoise -> new SubSampledNoise(fractalNoise, zoom, sampleRate));
+        float maxHeightError = 0;
+        if (sampleRate > 1) {
+            // a column either is part of a mesa or it isn't, so any error is the full mesa height
+            maxHeightError = NoiseSamplingError.maxHeightError(new SubSampledNoise(brownianNoise, zoom, 1), noise,
+                    zoom.x(), value -> isMesa((float) value) ? MESA_HEIGHT : 0);
+            logger.info("Sampling mesa noise every {} blocks, max height error: {}", sampleRate, maxHeightError);
+        }
+        mesaNoise = new MesaNoise(lod, maxHeightError);
     }
 
     @Override
     public void process(GeneratingRegion region) {
-        ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
-        SeaLevelFacet seaLevelFacet = region.getRegionFacet(SeaLevelFacet.class);
+        process(region, 1);
+    }
+
+    @Override
+    public void process(GeneratingRegion region, float scale) {
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
+            SeaLevelFacet seaLevelFacet = region.getRegionFacet(SeaLevelFacet.class);
 
-        int seaLevel = seaLevelFacet.getSeaLevel();
-        float mesaHeight = 50;
+            int seaLevel = seaLevelFacet.getSeaLevel();
 
-        // loop through every position on our 2d array
-        BlockAreac processRegion = facet.getWorldArea();
-        for (Vector2ic position : processRegion) {
-            float mesaness = mesaNoise.noise(position.x(), position.y());
+            // sample the noise for the whole 2d area at once and update the facet data in place
+            float[] heights = facet.getInternal();
+            float[] mesaNoiseValues = mesaNoise.lod.getNoise(scale).noise(facet.getWorldArea(), scale);
+            for (int i = 0; i < heights.length; i++) {
+                float mesaness = mesaNoiseValues[i];
 
-            // to generate a mesa, just raise the entire area by mesaHeight
-            // only generate mesas above sea level
-            if (mesaness > 0.6 && facet.getWorld(position) > seaLevel + 5) {
-                facet.setWorld(position, facet.getWorld(position) + mesaHeight);
+                // to generate a mesa, just raise the entire area by mesaHeight
+                // only generate mesas above sea level
+                if (isMesa(mesaness) && heights[i] > seaLevel + 5) {
+                    heights[i] = heights[i] + MESA_HEIGHT;
+                }
             }
+        } finally {
+            probe.end();
+        }
+    }
+
+    private static boolean isMesa(float mesaness) {
+        return mesaness > 0.6;
+    }
+
+    /**
+     * @return the maximum height error caused by the configured sample rate, compared to sampling every block
+     */
+    public float getMaxHeightError() {
+        return mesaNoise.maxHeightError;
+    }
+
+    @Override
+    public String getConfigurationName() {
+        return "Mesas";
+    }
+
+    @Override
+    public Component getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public void setConfiguration(Component configuration) {
+        this.configuration = (MesaConfiguration) configuration;
+    }
+
+    /**
+     * The sampled mesa noise of one seed and configuration.
+     */
+    private static final class MesaNoise {
+        private final ElevationLod lod;
+        private final float maxHeightError;
+
+        private MesaNoise(ElevationLod lod, float maxHeightError) {
+            this.lod = lod;
+            this.maxHeightError = maxHeightError;
+        }
+    }
+
+    private static class MesaConfiguration implements Component<MesaConfiguration> {
+        @Range(min = 1, max = 8, increment = 1, precision = 0, description = "Mesa Noise Sample Rate (Blocks)")
+        private float sampleRate = 1;
+
+        @Override
+        public void copyFrom(MesaConfiguration other) {
+            this.sampleRate = other.sampleRate;
         }
     }
 }
@@ -15,16 +15,36 @@
  */
 package org.terasology.tutorialWorldGenerationTrees;
 
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.tutorialWorldGeneration.StructureStencil;
+
 /**
  * Class for a tree, containing its variables.
  */
 public class Tree {
+    /**
+     * The material index of the trunk in the {@link #getStencil() stencil}.
+     */
+    public static final int TRUNK = 0;
+    /**
+     * The material index of the leaves in the {@link #getStencil() stencil}.
+     */
+    public static final int LEAF = 1;
+
+    /**
+     * Trees have no state of their own, so this instance can be placed everywhere.
+     */
+    public static final Tree INSTANCE = new Tree();
+
     private static final int TRUNK_HEIGHT = 4;
     private static final int CROWN_HEIGHT = 2;
     private static final int TOP_CROWN_HEIGHT = 1;
     private static final int CROWN_RADIUS = 2;
     private static final int TOP_CROWN_WIDTH = 3;
 
+    private static final StructureStencil STENCIL = compileStencil();
+
     /**
      * The height of a tree.
      *
@@ -87,4 +107,55 @@ public class Tree {
     public int getTopCrownWidth() {
         return TOP_CROWN_WIDTH;
     }
+
+    /**
+     * The shape of the tree: its trunk, lower crown and upper crown.
+     *
+     * @return the stencil, relative to the surface block the tree grows on
+     */
+    public StructureStencil getStencil() {
+        return STENCIL;
+    }
+
+    /**
+     * The blocks covered by a tree growing on top of the given surface position.
+     *
+     * @param position the surface block the tree grows on
+     * @return the bounds in world coordinates
+     */
+    public BlockRegion getBounds(Vector3ic position) {
+        return STENCIL.getBounds(position);
+    }
+
+    private static StructureStencil compileStencil() {
+        int width = CROWN_RADIUS * 2 + 1;
+        int height = TRUNK_HEIGHT + CROWN_HEIGHT + TOP_CROWN_HEIGHT;
+        // all coordinates are relative to the surface block, the tree starts one block above it
+        int minX = -CROWN_RADIUS;
+        int minY = 1;
+        int minZ = -CROWN_RADIUS;
+
+        int crownMinY = minY + TRUNK_HEIGHT - 1;
+        int topMinXZ = (width - TOP_CROWN_WIDTH) / 2;
+        int topMinY = minY + TRUNK_HEIGHT + CROWN_HEIGHT - 1;
+
+        StructureStencil.Builder builder = StructureStencil.builder();
+        for (int y = minY; y <= minY + height; y++) {
+            for (int z = minZ; z <= minZ + width; z++) {
+                for (int x = minX; x <= minX + width; x++) {
+                    boolean isTrunk = x >= 0 && x <= 1 && z >= 0 && z <= 1 && y <= minY + TRUNK_HEIGHT;
+                    boolean isCrown = y >= crownMinY && y <= crownMinY + CROWN_HEIGHT;
+                    boolean isTop = x >= minX + topMinXZ && x <= minX + topMinXZ + TOP_CROWN_WIDTH
+                            && z >= minZ + topMinXZ && z <= minZ + topMinXZ + TOP_CROWN_WIDTH
+                            && y >= topMinY && y <= topMinY + TOP_CROWN_HEIGHT;
+                    if (isTrunk) {
+                        builder.add(x, y, z, TRUNK);
+                    } else if (isCrown || isTop) {
+                        builder.add(x, y, z, LEAF);
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
 }
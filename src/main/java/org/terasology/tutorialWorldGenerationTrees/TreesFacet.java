@@ -15,16 +15,37 @@
  */
 package org.terasology.tutorialWorldGenerationTrees;
 
+import org.joml.Vector3i;
 import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.generation.Border3D;
-import org.terasology.engine.world.generation.facets.base.SparseObjectFacet3D;
+import org.terasology.tutorialWorldGeneration.SparseStructureFacet;
+import org.terasology.tutorialWorldGeneration.StructureIndex;
 
 /**
  * Stores the trees' position - Facet.
  */
-public class TreesFacet extends SparseObjectFacet3D<Tree> {
+public class TreesFacet extends SparseStructureFacet<Tree> {
+
+    private StructureIndex<Tree> index;
 
     public TreesFacet(BlockRegion targetRegion, Border3D border) {
         super(targetRegion, border);
     }
+
+    /**
+     * Indexes the trees by the blocks they cover. The index is built on first use, so it must only be requested once
+     * all trees have been placed. Building it is synchronized, so concurrent callers all get the complete index.
+     *
+     * @return the index of all trees in this facet
+     */
+    public synchronized StructureIndex<Tree> getIndex() {
+        if (index == null) {
+            index = new StructureIndex<>();
+            forEachWorld((x, y, z, tree) -> {
+                Vector3i position = new Vector3i(x, y, z);
+                index.add(position, tree, tree.getBounds(position));
+            });
+        }
+        return index;
+    }
 }
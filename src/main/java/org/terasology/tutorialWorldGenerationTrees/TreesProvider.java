@@ -15,8 +15,8 @@
  */
 package org.terasology.tutorialWorldGenerationTrees;
 
-import org.terasology.engine.utilities.procedural.Noise;
-import org.terasology.engine.utilities.procedural.WhiteNoise;
+import org.joml.Vector3i;
+import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.generation.Border3D;
 import org.terasology.engine.world.generation.Facet;
@@ -24,44 +24,72 @@ import org.terasology.engine.world.generation.FacetProviderPlugin;
 import org.terasology.engine.world.generation.GeneratingRegion;
 import org.terasology.engine.world.generation.Produces;
 import org.terasology.engine.world.generation.Requires;
-import org.terasology.engine.world.generation.facets.SurfacesFacet;
+import org.terasology.tutorialWorldGeneration.ColumnSurfacesFacet;
+import org.terasology.tutorialWorldGeneration.JitteredGrid;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
 
 /**
- * Class for placing trees, using WhiteNoise.
+ * Class for placing trees, using a jittered grid of candidate positions.
  */
 @Produces(TreesFacet.class)
-@Requires(@Facet(SurfacesFacet.class))
+@Requires(@Facet(ColumnSurfacesFacet.class))
 public class TreesProvider implements FacetProviderPlugin {
-    private Noise treesNoise;
+    private static final StageStatistics STAGE = StageInstrumentation.stage("TreesProvider");
+
+    /**
+     * The edge length of the cells of the placement grid, each cell holds at most one tree.
+     */
+    private static final int CELL_SIZE = 10;
+    /**
+     * The largest horizontal distance between a tree's position and a block of the tree. Keeping positions this far
+     * from the cell edges keeps trees of different cells from overlapping, while leaving 4 possible offsets per axis
+     * within a cell.
+     */
+    private static final int CROWN_MARGIN = getHorizontalReach(Tree.INSTANCE.getBounds(new Vector3i()));
+    private static final float TREE_PROBABILITY = 0.9f;
+    /**
+     * Offsets the seed of the placement grid, so that trees do not follow the houses' grid, which uses the world seed.
+     */
+    private static final long SEED_OFFSET = 4;
+
+    private volatile JitteredGrid grid;
 
     @Override
     public void setSeed(long seed) {
-        treesNoise = new WhiteNoise(seed);
+        grid = new JitteredGrid(seed + SEED_OFFSET, CELL_SIZE, CROWN_MARGIN, TREE_PROBABILITY);
     }
 
     @Override
     public void process(GeneratingRegion region) {
-        Border3D border = region.getBorderForFacet(TreesFacet.class).extendBy(0, 7, 1);
-        TreesFacet facet = new TreesFacet(region.getRegion(), border);
-
-        SurfacesFacet surfacesFacet = region.getRegionFacet(SurfacesFacet.class);
-        BlockRegion worldRegion = surfacesFacet.getWorldRegion();
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            Border3D border = region.getBorderForFacet(TreesFacet.class).extendBy(0, 7, 1);
+            TreesFacet facet = new TreesFacet(region.getRegion(), border);
 
-        for (int wz = worldRegion.minZ(); wz <= worldRegion.maxZ(); wz++) {
-            for (int wx = worldRegion.minX(); wx <= worldRegion.maxX(); wx++) {
-                for (int surfaceHeight : surfacesFacet.getWorldColumn(wx, wz)) {
+            ColumnSurfacesFacet surfacesFacet = region.getRegionFacet(ColumnSurfacesFacet.class);
+            BlockAreac worldArea = surfacesFacet.getWorldArea();
 
-                    // check if point is within this region
-                    if (facet.getWorldRegion().contains(wx, surfaceHeight, wz)) {
-
-                        if (treesNoise.noise(wx, surfaceHeight, wz) > 0.99) {
-                            facet.setWorld(wx, surfaceHeight, wz, new Tree());
+            // only the surfaces of candidate columns need to be looked at
+            grid.forEachCandidate(worldArea.minX(), worldArea.minY(), worldArea.maxX(), worldArea.maxY(),
+                    (wx, wz) -> surfacesFacet.forEachWorldSurface(wx, wz, surfaceHeight -> {
+                        // check if point is within this region
+                        if (facet.getWorldRegion().contains(wx, surfaceHeight, wz)) {
+                            facet.setWorld(wx, surfaceHeight, wz, Tree.INSTANCE);
                         }
-                    }
-                }
-            }
+                    }));
+
+            region.setRegionFacet(TreesFacet.class, facet);
+        } finally {
+            probe.end();
         }
+    }
 
-        region.setRegionFacet(TreesFacet.class, facet);
+    /**
+     * @param bounds the bounds of a tree at the origin
+     * @return the largest distance between the origin and the bounds along the x or z axis
+     */
+    private static int getHorizontalReach(BlockRegion bounds) {
+        return Math.max(Math.max(-bounds.minX(), bounds.maxX()), Math.max(-bounds.minZ(), bounds.maxZ()));
     }
 }
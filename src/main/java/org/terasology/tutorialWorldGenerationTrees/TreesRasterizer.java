@@ -15,88 +15,58 @@
  */
 package org.terasology.tutorialWorldGenerationTrees;
 
-import org.joml.Vector3i;
-import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
-import org.terasology.engine.world.block.BlockRegion;
-import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.WorldRasterizerPlugin;
 import org.terasology.engine.world.generation.facets.SeaLevelFacet;
-
-import java.util.Map;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
 
 /**
  * Class for building up trees.
  */
 public class TreesRasterizer implements WorldRasterizerPlugin {
-    private Block trunk;
-    private Block leaf;
+
+    private static final StageStatistics STAGE = StageInstrumentation.stage("TreesRasterizer");
+
+    /**
+     * The blocks for the materials of the tree stencil, indexed by {@link Tree#TRUNK} and {@link Tree#LEAF}.
+     */
+    private Block[] blocks;
 
     @Override
     public void initialize() {
         BlockManager blockManager = CoreRegistry.get(BlockManager.class);
 
-        trunk = blockManager.getBlock("CoreAssets:OakTrunk");
-        leaf = blockManager.getBlock("CoreAssets:GreenLeaf");
+        blocks = new Block[2];
+        blocks[Tree.TRUNK] = blockManager.getBlock("CoreAssets:OakTrunk");
+        blocks[Tree.LEAF] = blockManager.getBlock("CoreAssets:GreenLeaf");
     }
 
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
-        TreesFacet facet = chunkRegion.getFacet(TreesFacet.class);
-
-        SeaLevelFacet seaLevelFacet = chunkRegion.getFacet(SeaLevelFacet.class);
-        int seaLevel = seaLevelFacet.getSeaLevel();
-
-        for (Map.Entry<Vector3ic, Tree> entry : facet.getWorldEntries().entrySet()) {
-            Vector3i treePosition = new Vector3i(entry.getKey()).add(0, 1, 0);
-
-            // checks if tree is underwater, if it is then skip - don't build
-            if (treePosition.y < seaLevel) {
-                continue;
-            }
-
-            int height = entry.getValue().getHeight();
-            int width = entry.getValue().getWidth();
-            int radius = entry.getValue().getCrownRadius();
-            int trunkHeight = entry.getValue().getTrunkHeight();
-            int crownHeight = entry.getValue().getCrownHeight();
-            int topCrownHeight = entry.getValue().getTopCrownHeight();
-            int topCrownWidth = entry.getValue().getTopCrownWidth();
-
-            // the position at the far top left corner - used as origin to create regions
-            Vector3i treeMinimumPos = new Vector3i(treePosition).sub(radius, 0, radius);
-
-            // creates regions for different parts of a tree
-            Vector3i treeMaximumPos = new Vector3i(treeMinimumPos).add(width, height, width);
-            BlockRegion treeRegion = new BlockRegion(treeMinimumPos, treeMaximumPos);
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            TreesFacet facet = chunkRegion.getFacet(TreesFacet.class);
 
-            BlockRegion treeTrunk = new BlockRegion(treePosition, new Vector3i(treePosition).add(1, trunkHeight, 1));
-            Vector3i treeCrownMin = new Vector3i(treeMinimumPos).add(0, (trunkHeight - 1), 0);
-            BlockRegion treeCrown = new BlockRegion(treeCrownMin, new Vector3i(treeCrownMin).add(width, crownHeight,
-                    width));
-            Vector3i treeTopMin = new Vector3i(treeMinimumPos).add((width - topCrownWidth) / 2,
-                    trunkHeight + crownHeight - 1,
-                    (width - topCrownWidth) / 2);
-            BlockRegion treeTop = new BlockRegion(treeTopMin, new Vector3i(treeTopMin).add(topCrownWidth,
-                    topCrownHeight, topCrownWidth));
+            SeaLevelFacet seaLevelFacet = chunkRegion.getFacet(SeaLevelFacet.class);
+            int seaLevel = seaLevelFacet.getSeaLevel();
 
-            // loop through each of the positions in the created regions and placing blocks
-            Vector3i tmp = new Vector3i();
-            for (Vector3ic newBlockPosition : treeRegion) {
-                if (chunkRegion.getRegion().contains(newBlockPosition)) {
-                    if (treeTrunk.contains(newBlockPosition)) {
-                        chunk.setBlock(Chunks.toRelative(newBlockPosition, tmp), trunk);
-                    } else if (!treeTrunk.contains(newBlockPosition)) {
-                        if (treeCrown.contains(newBlockPosition) || treeTop.contains(newBlockPosition)) {
-                            chunk.setBlock(Chunks.toRelative(newBlockPosition, tmp), leaf);
-                        }
-                    }
+            BlockRegionc chunkBounds = chunkRegion.getRegion();
+            // only visit the trees that reach into this chunk, their stencils only place the blocks inside of it
+            facet.getIndex().forEachIntersecting(chunkBounds, entry -> {
+                // checks if tree is underwater, if it is then skip - don't build
+                if (entry.getPosition().y() + 1 < seaLevel) {
+                    return;
                 }
-            }
+                entry.getStructure().getStencil().rasterize(chunk, chunkBounds, entry.getPosition(), blocks);
+            });
+        } finally {
+            probe.end();
         }
     }
 }
@@ -0,0 +1,26 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationZones;
+
+/**
+ * The beaches are all columns whose elevation is less than 3 blocks above the sea level.
+ */
+public class BeachZoneFunction extends ColumnRangeZoneFunction {
+
+    private final int seaLevel;
+
+    public BeachZoneFunction(int seaLevel) {
+        this.seaLevel = seaLevel;
+    }
+
+    @Override
+    protected int getMinY(float elevation) {
+        return elevation < seaLevel + 3 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected int getMaxY(float elevation) {
+        return elevation < seaLevel + 3 ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationZones;
+
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.zones.Zone;
+
+/**
+ * A zone defined by a {@link ColumnRangeZoneFunction}, which skips chunks it does not cover at all instead of letting
+ * its rasterizers ask about every block of them.
+ * <p>
+ * This is only equivalent to a plain {@link Zone} if the zone has no child zones, because those are skipped as well.
+ * The rasterizers of the zone itself only place blocks that are part of the zone.
+ */
+public class ColumnRangeZone extends Zone {
+
+    private final ColumnRangeZoneFunction function;
+
+    public ColumnRangeZone(String name, ColumnRangeZoneFunction function) {
+        super(name, function);
+        this.function = function;
+    }
+
+    @Override
+    public void generateChunk(Chunk chunk, Region chunkRegion) {
+        if (function.getColumnRanges(chunkRegion).intersects(chunkRegion.getRegion())) {
+            super.generateChunk(chunk, chunkRegion);
+        }
+    }
+}
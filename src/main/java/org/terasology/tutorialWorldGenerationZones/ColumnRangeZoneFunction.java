@@ -0,0 +1,170 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationZones;
+
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+import org.terasology.engine.world.zones.ZoneRegionFunction;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A zone region function for zones that cover one contiguous range of heights in each column, which only depends on
+ * the elevation of the column.
+ * <p>
+ * The zone system asks the function about every single block of a chunk. Instead of looking up the elevation for
+ * each of them, the ranges of all columns of a region are computed once and then answered by a lookup. Functions
+ * added to a {@link ZoneColumnTable} compute their ranges together with the other functions of the table.
+ */
+public abstract class ColumnRangeZoneFunction implements ZoneRegionFunction {
+
+    /**
+     * The ranges of the region the current thread asked about last. Chunks are rasterized one at a time per thread,
+     * so this is hit for all but the first block of a chunk. The ranges only weakly reference their region, so the
+     * region and its facets can be collected once the chunk is done.
+     */
+    private final ThreadLocal<ColumnRanges> lastRanges = new ThreadLocal<>();
+
+    private ZoneColumnTable table;
+    private int tableIndex;
+
+    @Override
+    public boolean apply(int x, int y, int z, Region region) {
+        return getColumnRanges(region).contains(x, y, z);
+    }
+
+    /**
+     * @return the ranges of all columns of the given region
+     */
+    public ColumnRanges getColumnRanges(Region region) {
+        if (table != null) {
+            return table.getColumnRanges(region, tableIndex);
+        }
+        ColumnRanges ranges = lastRanges.get();
+        if (ranges == null || !ranges.isFor(region)) {
+            ranges = ColumnRanges.compute(region, Collections.singletonList(this))[0];
+            lastRanges.set(ranges);
+        }
+        return ranges;
+    }
+
+    void setTable(ZoneColumnTable table, int tableIndex) {
+        if (this.table != null) {
+            throw new IllegalStateException("The function already belongs to a table");
+        }
+        this.table = table;
+        this.tableIndex = tableIndex;
+    }
+
+    /**
+     * @return the lowest height covered by the zone in a column with the given elevation
+     */
+    protected abstract int getMinY(float elevation);
+
+    /**
+     * @return the highest height covered by the zone in a column with the given elevation, below the minimum height
+     *         if the zone does not cover the column at all
+     */
+    protected abstract int getMaxY(float elevation);
+
+    /**
+     * The inclusive height ranges covered by a zone in each column of a region.
+     */
+    public static final class ColumnRanges {
+        private final WeakReference<Region> region;
+        private final int minX;
+        private final int minZ;
+        private final int sizeX;
+        private final int sizeZ;
+        private final int[] minYs;
+        private final int[] maxYs;
+
+        private ColumnRanges(Region region, BlockAreac area, int[] minYs, int[] maxYs) {
+            this.region = new WeakReference<>(region);
+            this.minX = area.minX();
+            this.minZ = area.minY();
+            this.sizeX = area.getSizeX();
+            this.sizeZ = area.getSizeY();
+            this.minYs = minYs;
+            this.maxYs = maxYs;
+        }
+
+        /**
+         * Computes the ranges of several functions in a single sweep over the elevation of the region.
+         */
+        static ColumnRanges[] compute(Region region, List<ColumnRangeZoneFunction> functions) {
+            ElevationFacet elevationFacet = region.getFacet(ElevationFacet.class);
+            BlockAreac area = elevationFacet.getWorldArea();
+            float[] elevations = elevationFacet.getInternal();
+
+            int count = functions.size();
+            int[][] minYs = new int[count][elevations.length];
+            int[][] maxYs = new int[count][elevations.length];
+            for (int i = 0; i < elevations.length; i++) {
+                float elevation = elevations[i];
+                for (int f = 0; f < count; f++) {
+                    ColumnRangeZoneFunction function = functions.get(f);
+                    minYs[f][i] = function.getMinY(elevation);
+                    maxYs[f][i] = function.getMaxY(elevation);
+                }
+            }
+
+            ColumnRanges[] ranges = new ColumnRanges[count];
+            for (int f = 0; f < count; f++) {
+                ranges[f] = new ColumnRanges(region, area, minYs[f], maxYs[f]);
+            }
+            return ranges;
+        }
+
+        /**
+         * @return whether the ranges were computed for the given region
+         */
+        boolean isFor(Region other) {
+            return region.get() == other;
+        }
+
+        public int getMinY(int x, int z) {
+            return minYs[getColumnIndex(x, z)];
+        }
+
+        public int getMaxY(int x, int z) {
+            return maxYs[getColumnIndex(x, z)];
+        }
+
+        public boolean contains(int x, int y, int z) {
+            int index = getColumnIndex(x, z);
+            return y >= minYs[index] && y <= maxYs[index];
+        }
+
+        /**
+         * @return whether the zone covers any block of the given region
+         */
+        public boolean intersects(BlockRegionc blockRegion) {
+            for (int z = blockRegion.minZ(); z <= blockRegion.maxZ(); z++) {
+                for (int x = blockRegion.minX(); x <= blockRegion.maxX(); x++) {
+                    int index = getColumnIndex(x, z);
+                    if (minYs[index] <= blockRegion.maxY() && maxYs[index] >= blockRegion.minY()
+                            && minYs[index] <= maxYs[index]) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private int getColumnIndex(int x, int z) {
+            int relativeX = x - minX;
+            int relativeZ = z - minZ;
+            if (relativeX < 0 || relativeX >= sizeX || relativeZ < 0 || relativeZ >= sizeZ) {
+                throw new IllegalArgumentException(String.format(
+                        "Out of bounds: (%d, %d) for area starting at (%d, %d)", x, z, minX, minZ));
+            }
+            return relativeX + sizeX * relativeZ;
+        }
+    }
+}
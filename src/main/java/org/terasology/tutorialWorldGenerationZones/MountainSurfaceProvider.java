@@ -16,8 +16,6 @@
 package org.terasology.tutorialWorldGenerationZones;
 
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
-import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
 import org.terasology.engine.world.generation.Facet;
@@ -25,29 +23,57 @@ import org.terasology.engine.world.generation.FacetProvider;
 import org.terasology.engine.world.generation.GeneratingRegion;
 import org.terasology.engine.world.generation.Updates;
 import org.terasology.engine.world.generation.facets.ElevationFacet;
+import org.terasology.tutorialWorldGeneration.NoiseTileCache;
+import org.terasology.tutorialWorldGeneration.StageInstrumentation;
+import org.terasology.tutorialWorldGeneration.StageStatistics;
 
 @Updates(@Facet(ElevationFacet.class))
 public class MountainSurfaceProvider implements FacetProvider {
     public static final int MIN_MOUNTAIN_HEIGHT = 80;
+    private static final StageStatistics STAGE = StageInstrumentation.stage("MountainSurfaceProvider");
     private static final float MOUNTAIN_HEIGHT_MULTIPLIER = 1f;
+    private static final int TILE_CACHE_SIZE = 1024;
 
-    private Noise mountainNoise;
+    private volatile NoiseTileCache mountainNoise;
 
     @Override
     public void setSeed(long seed) {
-        mountainNoise = new SubSampledNoise(new SimplexNoise(seed), new Vector2f(0.001f, 0.001f), 1);
+        // cached, as the chunks stacked above each other sample the noise of the same columns
+        mountainNoise = new NoiseTileCache(new SubSampledNoise(new SimplexNoise(seed), new Vector2f(0.001f, 0.001f), 1),
+                TILE_CACHE_SIZE);
     }
 
     @Override
     public void process(GeneratingRegion region) {
-        ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
-        for (Vector2ic pos : facet.getWorldArea()) {
-            float height = facet.getWorld(pos);
+        StageStatistics.Probe probe = STAGE.begin();
+        try {
+            ElevationFacet facet = region.getRegionFacet(ElevationFacet.class);
+            float[] heights = facet.getInternal();
+            if (!containsMountains(heights)) {
+                // no column is high enough, so there is no need to sample the noise at all
+                return;
+            }
+
+            float[] noiseValues = mountainNoise.noise(facet.getWorldArea());
+            for (int i = 0; i < heights.length; i++) {
+                float height = heights[i];
+                if (height >= MIN_MOUNTAIN_HEIGHT) {
+                    float noiseValue = noiseValues[i];
+                    noiseValue = (noiseValue + 1) / 2; //Into range [0..1]
+                    heights[i] = height + noiseValue * (height - MIN_MOUNTAIN_HEIGHT) * MOUNTAIN_HEIGHT_MULTIPLIER;
+                }
+            }
+        } finally {
+            probe.end();
+        }
+    }
+
+    private static boolean containsMountains(float[] heights) {
+        for (float height : heights) {
             if (height >= MIN_MOUNTAIN_HEIGHT) {
-                float noiseValue = mountainNoise.noise(pos.x(), pos.y());
-                noiseValue = (noiseValue + 1) / 2; //Into range [0..1]
-                facet.setWorld(pos, height + noiseValue * (height - MIN_MOUNTAIN_HEIGHT) * MOUNTAIN_HEIGHT_MULTIPLIER);
+                return true;
             }
         }
+        return false;
     }
 }
@@ -0,0 +1,21 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationZones;
+
+/**
+ * The mountains are the ground blocks of the columns that reach at least
+ * {@link MountainSurfaceProvider#MIN_MOUNTAIN_HEIGHT}.
+ */
+public class MountainsZoneFunction extends ColumnRangeZoneFunction {
+
+    @Override
+    protected int getMinY(float elevation) {
+        return Math.max((int) Math.floor(elevation), MountainSurfaceProvider.MIN_MOUNTAIN_HEIGHT);
+    }
+
+    @Override
+    protected int getMaxY(float elevation) {
+        return (int) Math.floor(elevation);
+    }
+}
@@ -0,0 +1,26 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationZones;
+
+/**
+ * The ocean exists in between the ground height and the sea level.
+ */
+public class OceanZoneFunction extends ColumnRangeZoneFunction {
+
+    private final int seaLevel;
+
+    public OceanZoneFunction(int seaLevel) {
+        this.seaLevel = seaLevel;
+    }
+
+    @Override
+    protected int getMinY(float elevation) {
+        return (int) Math.floor(elevation) + 1;
+    }
+
+    @Override
+    protected int getMaxY(float elevation) {
+        return seaLevel;
+    }
+}
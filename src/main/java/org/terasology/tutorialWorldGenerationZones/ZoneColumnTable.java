@@ -0,0 +1,46 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationZones;
+
+import org.terasology.engine.world.generation.Region;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The column rules of all {@link ColumnRangeZoneFunction column range zones} of a world, flattened into one table.
+ * <p>
+ * The table is put together when the world is created. For each region, it computes the ranges of all zones in a
+ * single sweep over the columns, so the elevation of a column is read once instead of once per zone.
+ */
+public class ZoneColumnTable {
+
+    private final List<ColumnRangeZoneFunction> functions = new ArrayList<>();
+
+    /**
+     * The ranges of the region the current thread asked about last, indexed like the functions. Like the ranges cached
+     * by a single function, they only weakly reference their region.
+     */
+    private final ThreadLocal<ColumnRangeZoneFunction.ColumnRanges[]> lastRanges = new ThreadLocal<>();
+
+    /**
+     * Adds a function to the table. Functions have to be added before any region is generated.
+     *
+     * @return the given function
+     */
+    public <T extends ColumnRangeZoneFunction> T add(T function) {
+        function.setTable(this, functions.size());
+        functions.add(function);
+        return function;
+    }
+
+    ColumnRangeZoneFunction.ColumnRanges getColumnRanges(Region region, int index) {
+        ColumnRangeZoneFunction.ColumnRanges[] ranges = lastRanges.get();
+        if (ranges == null || !ranges[index].isFor(region)) {
+            ranges = ColumnRangeZoneFunction.ColumnRanges.compute(region, functions);
+            lastRanges.set(ranges);
+        }
+        return ranges[index];
+    }
+}
@@ -36,7 +36,6 @@ import org.terasology.engine.logic.spawner.FixedSpawner;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.world.generation.BaseFacetedWorldGenerator;
 import org.terasology.engine.world.generation.WorldBuilder;
-import org.terasology.engine.world.generation.facets.ElevationFacet;
 import org.terasology.engine.world.generator.RegisterWorldGenerator;
 import org.terasology.engine.world.generator.plugin.WorldGeneratorPluginLibrary;
 import org.terasology.engine.world.zones.ConstantLayerThickness;
@@ -70,6 +69,8 @@ public class ZonedSimplexWorldGenerator extends BaseFacetedWorldGenerator {
     protected WorldBuilder createWorld() {
         int seaLevel = 32;
         Vector2i spawnPos = new Vector2i(0, 0); // as used by the spawner
+        // the zones depending on the elevation of a column share one table, which evaluates them together per column
+        ZoneColumnTable zoneColumns = new ZoneColumnTable();
 
         return new WorldBuilder(worldGeneratorPluginLibrary)
                 .setSeaLevel(seaLevel)
@@ -86,8 +87,7 @@ public class ZonedSimplexWorldGenerator extends BaseFacetedWorldGenerator {
                         .addRasterizer(new TreeRasterizer())
 
                         //A zone for the ocean, existing in between the ground height and sea level
-                        .addZone(new Zone("Ocean", (x, y, z, region) ->
-                                (int) Math.floor(region.getFacet(ElevationFacet.class).getWorld(x, z)) < y && y <= seaLevel)
+                        .addZone(new ColumnRangeZone("Ocean", zoneColumns.add(new OceanZoneFunction(seaLevel)))
                                 .addRasterizer(new SingleBlockRasterizer("CoreAssets:water"))))
 
                 //The layer for the ground
@@ -109,18 +109,15 @@ public class ZonedSimplexWorldGenerator extends BaseFacetedWorldGenerator {
                                                 SHALLOW_UNDERGROUND))
                                         .addRasterizer(new SingleBlockRasterizer("CoreAssets:dirt"))))
 
-                        //A zone controlling the mountains
-                        .addZone(new Zone("Mountains",
-                                (x, y, z, region) -> y >= MountainSurfaceProvider.MIN_MOUNTAIN_HEIGHT
-                                && (int) Math.floor(region.getFacet(ElevationFacet.class).getWorld(x, z)) == y)
+                        //A zone controlling the mountains, a plain zone as it cannot skip chunks on behalf of its child
+                        .addZone(new Zone("Mountains", zoneColumns.add(new MountainsZoneFunction()))
                                 .addProvider(new MountainSurfaceProvider())
                                 .addZone(new Zone("Mountain top",
                                         new LayeredZoneRegionFunction(new ConstantLayerThickness(1), GROUND))
                                         .addRasterizer(new SingleBlockRasterizer("CoreAssets:Snow"))))
 
                         //A zone controlling the beaches
-                        .addZone(new Zone("Beach", (x, y, z, region) ->
-                                region.getFacet(ElevationFacet.class).getWorld(x, z) < seaLevel + 3)
+                        .addZone(new ColumnRangeZone("Beach", zoneColumns.add(new BeachZoneFunction(seaLevel)))
                                 .addRasterizer(new SingleBlockRasterizer("CoreAssets:Sand"))))
 
                 //The underground layer, which just fills the underground with stone
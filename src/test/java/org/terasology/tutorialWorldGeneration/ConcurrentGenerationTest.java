@@ -0,0 +1,133 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.Test;
+import org.terasology.biomesAPI.Biome;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.WorldRasterizer;
+import org.terasology.tutorialWorldGenerationBiomes.TutorialBiome;
+import org.terasology.tutorialWorldGenerationZones.BeachZoneFunction;
+import org.terasology.tutorialWorldGenerationZones.ColumnRangeZoneFunction;
+import org.terasology.tutorialWorldGenerationZones.MountainsZoneFunction;
+import org.terasology.tutorialWorldGenerationZones.OceanZoneFunction;
+import org.terasology.tutorialWorldGenerationZones.ZoneColumnTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Generates the same chunks on a single thread and on several threads sharing the providers, rasterizers and zone
+ * functions, like the chunk generation threads of the game do, and compares the blocks, the biomes and the zones of
+ * every chunk. Each chunk is generated several times in a shuffled order, so that threads work on neighbouring and on
+ * the same chunks at the same time.
+ */
+public class ConcurrentGenerationTest {
+
+    private static final int THREADS = 8;
+    private static final int REPETITIONS = 3;
+
+    @Test
+    public void testSameChunksOnAllThreads() throws Exception {
+        Map<Vector3ic, List<Long>> expected = generate(1);
+        Map<Vector3ic, List<Long>> actual = generate(THREADS);
+
+        assertEquals(TestWorld.chunkPositions().size(), expected.size());
+        for (Map.Entry<Vector3ic, List<Long>> entry : expected.entrySet()) {
+            List<Long> checksums = entry.getValue();
+            assertEquals(REPETITIONS, checksums.size());
+            assertEquals(1, checksums.stream().distinct().count(), "Repeated checksums of chunk " + entry.getKey());
+            for (Long checksum : actual.get(entry.getKey())) {
+                assertEquals(checksums.get(0), checksum, "Checksum of chunk " + entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Generates each chunk {@value #REPETITIONS} times on the given number of threads.
+     *
+     * @return the checksums of each generated chunk, by its position
+     */
+    private static Map<Vector3ic, List<Long>> generate(int threads) throws Exception {
+        List<FacetProvider> providers = TestWorld.providers();
+        ThreadLocal<Map<Vector3ic, Biome>> biomes = new ThreadLocal<>();
+        List<WorldRasterizer> rasterizers = TestWorld.rasterizers(TestWorld.recordingBiomeRegistry(biomes::get));
+        ZoneColumnTable table = new ZoneColumnTable();
+        List<ColumnRangeZoneFunction> zones = List.of(table.add(new OceanZoneFunction(0)),
+                table.add(new MountainsZoneFunction()), table.add(new BeachZoneFunction(0)));
+
+        List<Vector3ic> positions = new ArrayList<>();
+        for (int i = 0; i < REPETITIONS; i++) {
+            positions.addAll(TestWorld.chunkPositions());
+        }
+        Collections.shuffle(positions, new Random(TestWorld.SEED));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> checksums = new ArrayList<>();
+            for (Vector3ic position : positions) {
+                checksums.add(executor.submit(() -> {
+                    start.await();
+                    TestRegion region = TestWorld.generate(providers,
+                            TestWorld.chunkRegion(position.x(), position.y(), position.z()));
+                    TestChunk chunk = new TestChunk(position);
+                    biomes.set(new HashMap<>());
+                    for (WorldRasterizer rasterizer : rasterizers) {
+                        rasterizer.generateChunk(chunk, region);
+                    }
+                    long checksum = TestWorld.blockChecksum(chunk);
+                    checksum = 31 * checksum + biomeChecksum(region, biomes.get());
+                    checksum = 31 * checksum + zoneChecksum(region, zones);
+                    biomes.remove();
+                    return checksum;
+                }));
+            }
+            start.countDown();
+
+            Map<Vector3ic, List<Long>> result = new HashMap<>();
+            for (int i = 0; i < positions.size(); i++) {
+                result.computeIfAbsent(positions.get(i), position -> new ArrayList<>()).add(checksums.get(i).get());
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+
+    private static long biomeChecksum(TestRegion region, Map<Vector3ic, Biome> biomes) {
+        assertEquals(region.getRegion().volume(), biomes.size());
+        long checksum = 1;
+        for (Vector3ic position : region.getRegion()) {
+            checksum = 31 * checksum + ((TutorialBiome) biomes.get(new Vector3i(position))).ordinal();
+        }
+        return checksum;
+    }
+
+    private static long zoneChecksum(TestRegion region, List<ColumnRangeZoneFunction> zones) {
+        long checksum = 1;
+        for (ColumnRangeZoneFunction zone : zones) {
+            for (Vector3ic position : region.getRegion()) {
+                boolean inZone = zone.apply(position.x(), position.y(), position.z(), region);
+                checksum = 31 * checksum + (inZone ? 1 : 0);
+            }
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.utilities.procedural.BrownianNoise;
+import org.terasology.engine.utilities.procedural.Noise;
+import org.terasology.engine.utilities.procedural.SimplexNoise;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ElevationLodTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    /**
+     * Keeping all octaves has to reproduce the engine's {@link BrownianNoise}, which fails if the lacunarity or the
+     * persistence copied from it no longer match.
+     */
+    @Test
+    public void testAllOctavesMatchBrownianNoise() {
+        Noise baseNoise = new SimplexNoise(TestWorld.SEED);
+        Random random = new Random(TestWorld.SEED);
+        for (int octaves = 1; octaves <= 8; octaves++) {
+            Noise expected = new BrownianNoise(baseNoise, octaves);
+            Noise actual = ElevationLod.getLowOctaves(baseNoise, octaves, octaves);
+            for (int i = 0; i < 1000; i++) {
+                float x = random.nextFloat() * 100 - 50;
+                float y = random.nextFloat() * 100 - 50;
+                float z = random.nextFloat() * 100 - 50;
+                assertEquals(expected.noise(x, y), actual.noise(x, y), EPSILON,
+                        octaves + " octaves at " + x + ", " + y);
+                assertEquals(expected.noise(x, y, z), actual.noise(x, y, z), EPSILON,
+                        octaves + " octaves at " + x + ", " + y + ", " + z);
+            }
+        }
+    }
+
+    /**
+     * Scales at which all octaves can be resolved sample the full noise itself.
+     */
+    @Test
+    public void testFullDetailUsesFullNoise() {
+        Noise baseNoise = new SimplexNoise(TestWorld.SEED);
+        Noise noise = new BrownianNoise(baseNoise, 8);
+        ElevationLod lod = new ElevationLod(noise, baseNoise, 8, 0.0001f, fractalNoise -> fractalNoise);
+        assertEquals(8, lod.getOctaves(1));
+        assertSame(noise, lod.getNoise(1));
+    }
+}
@@ -0,0 +1,224 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.terasology.biomesAPI.Biome;
+import org.terasology.biomesAPI.BiomeRegistry;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.WorldRasterizer;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+import org.terasology.engine.world.generation.facets.SeaLevelFacet;
+import org.terasology.engine.world.generation.facets.SurfacesFacet;
+import org.terasology.tutorialWorldGenerationBiomes.TutorialBiome;
+import org.terasology.tutorialWorldGenerationTrees.Tree;
+import org.terasology.tutorialWorldGenerationTrees.TreesFacet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the rasterizers with the straightforward implementations they replaced, which visit every block of the
+ * chunk or of each structure. Both get the same facets, generated with a fixed seed for a fixed set of chunks, and
+ * have to place exactly the same blocks and biomes.
+ */
+public class RasterizerRegressionTest {
+
+    private static final List<Vector3ic> POSITIONS = TestWorld.chunkPositions();
+    private static final List<TestRegion> REGIONS = new ArrayList<>();
+
+    @BeforeAll
+    public static void generateRegions() {
+        List<FacetProvider> providers = TestWorld.providers();
+        for (Vector3ic position : POSITIONS) {
+            REGIONS.add(TestWorld.generate(providers, TestWorld.chunkRegion(position.x(), position.y(), position.z())));
+        }
+    }
+
+    @Test
+    public void testTerrain() {
+        assertSameBlocks(TestWorld.terrainRasterizer(), RasterizerRegressionTest::rasterizeTerrain);
+    }
+
+    @Test
+    public void testHouses() {
+        assertSameBlocks(TestWorld.houseRasterizer(), RasterizerRegressionTest::rasterizeHouses);
+    }
+
+    @Test
+    public void testLakes() {
+        assertSameBlocks(TestWorld.lakesRasterizer(), RasterizerRegressionTest::rasterizeLakes);
+    }
+
+    @Test
+    public void testTrees() {
+        assertSameBlocks(TestWorld.treesRasterizer(), RasterizerRegressionTest::rasterizeTrees);
+    }
+
+    @Test
+    public void testBiomes() {
+        for (int i = 0; i < POSITIONS.size(); i++) {
+            TestRegion region = REGIONS.get(i);
+            Map<Vector3ic, Biome> expected = new HashMap<>();
+            rasterizeBiomes(TestWorld.recordingBiomeRegistry(expected), region);
+            Map<Vector3ic, Biome> actual = new HashMap<>();
+            WorldRasterizer rasterizer = TestWorld.biomeRasterizer(TestWorld.recordingBiomeRegistry(actual));
+            rasterizer.generateChunk(new TestChunk(POSITIONS.get(i)), region);
+
+            assertEquals(region.getRegion().volume(), expected.size());
+            for (Map.Entry<Vector3ic, Biome> entry : expected.entrySet()) {
+                assertSame(entry.getValue(), actual.get(entry.getKey()), "Biome at " + entry.getKey());
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+    }
+
+    /**
+     * Rasterizes all chunks with the rasterizer and with its reference implementation, and compares them block by
+     * block. At least one of the chunks has to contain a block placed by the rasterizer, so that the comparison covers
+     * more than empty chunks.
+     */
+    private static void assertSameBlocks(WorldRasterizer rasterizer, BiConsumer<Chunk, Region> reference) {
+        boolean placedAny = false;
+        for (int i = 0; i < POSITIONS.size(); i++) {
+            TestChunk expected = new TestChunk(POSITIONS.get(i));
+            reference.accept(expected, REGIONS.get(i));
+            TestChunk actual = new TestChunk(POSITIONS.get(i));
+            rasterizer.generateChunk(actual, REGIONS.get(i));
+
+            for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                for (int y = 0; y < Chunks.SIZE_Y; y++) {
+                    for (int x = 0; x < Chunks.SIZE_X; x++) {
+                        Block block = expected.getBlock(x, y, z);
+                        if (block != actual.getBlock(x, y, z)) {
+                            assertEquals(TestWorld.BLOCKS.indexOf(block),
+                                    TestWorld.BLOCKS.indexOf(actual.getBlock(x, y, z)),
+                                    "Block at (" + x + ", " + y + ", " + z + ") of " + actual);
+                        }
+                        placedAny |= block != TestWorld.AIR;
+                    }
+                }
+            }
+        }
+        assertTrue(placedAny, "No blocks placed in any chunk");
+    }
+
+    private static void rasterizeTerrain(Chunk chunk, Region chunkRegion) {
+        ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
+        SurfacesFacet surfacesFacet = chunkRegion.getFacet(SurfacesFacet.class);
+
+        Vector3i tmp = new Vector3i();
+        for (Vector3ic position : chunkRegion.getRegion()) {
+            float surfaceHeight = elevationFacet.getWorld(position.x(), position.z());
+            if (surfacesFacet.getWorld(position)) {
+                chunk.setBlock(Chunks.toRelative(position, tmp), TestWorld.GRASS);
+            } else if (position.y() < surfaceHeight) {
+                chunk.setBlock(Chunks.toRelative(position, tmp), TestWorld.DIRT);
+            }
+        }
+    }
+
+    private static void rasterizeHouses(Chunk chunk, Region chunkRegion) {
+        HouseFacet houseFacet = chunkRegion.getFacet(HouseFacet.class);
+
+        for (Map.Entry<Vector3ic, House> entry : houseFacet.getWorldEntries().entrySet()) {
+            Vector3i centerHousePosition = new Vector3i(entry.getKey());
+            int extent = entry.getValue().getExtent();
+            centerHousePosition.add(0, extent, 0);
+            BlockRegion walls = new BlockRegion(centerHousePosition).expand(extent, extent, extent);
+            BlockRegion inside = new BlockRegion(centerHousePosition).expand(extent - 1, extent - 1, extent - 1);
+
+            Vector3i tmp = new Vector3i();
+            for (Vector3ic newBlockPosition : walls) {
+                if (chunkRegion.getRegion().contains(newBlockPosition) && !inside.contains(newBlockPosition)) {
+                    chunk.setBlock(Chunks.toRelative(newBlockPosition, tmp), TestWorld.STONE);
+                }
+            }
+        }
+    }
+
+    private static void rasterizeLakes(Chunk chunk, Region chunkRegion) {
+        ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
+        int seaLevel = chunkRegion.getFacet(SeaLevelFacet.class).getSeaLevel();
+
+        Vector3i tmp = new Vector3i();
+        for (Vector3ic position : chunkRegion.getRegion()) {
+            float surfaceHeight = elevationFacet.getWorld(position.x(), position.z());
+            if (position.y() < seaLevel && position.y() > surfaceHeight) {
+                chunk.setBlock(Chunks.toRelative(position, tmp), TestWorld.WATER);
+            }
+        }
+    }
+
+    private static void rasterizeTrees(Chunk chunk, Region chunkRegion) {
+        TreesFacet facet = chunkRegion.getFacet(TreesFacet.class);
+        int seaLevel = chunkRegion.getFacet(SeaLevelFacet.class).getSeaLevel();
+
+        for (Map.Entry<Vector3ic, Tree> entry : facet.getWorldEntries().entrySet()) {
+            Vector3i treePosition = new Vector3i(entry.getKey()).add(0, 1, 0);
+            if (treePosition.y < seaLevel) {
+                continue;
+            }
+
+            Tree tree = entry.getValue();
+            int width = tree.getWidth();
+            int trunkHeight = tree.getTrunkHeight();
+            int crownHeight = tree.getCrownHeight();
+            int topCrownWidth = tree.getTopCrownWidth();
+
+            Vector3i treeMinimumPos = new Vector3i(treePosition).sub(tree.getCrownRadius(), 0, tree.getCrownRadius());
+            BlockRegion treeRegion = new BlockRegion(treeMinimumPos,
+                    new Vector3i(treeMinimumPos).add(width, tree.getHeight(), width));
+            BlockRegion treeTrunk = new BlockRegion(treePosition, new Vector3i(treePosition).add(1, trunkHeight, 1));
+            Vector3i treeCrownMin = new Vector3i(treeMinimumPos).add(0, trunkHeight - 1, 0);
+            BlockRegion treeCrown = new BlockRegion(treeCrownMin,
+                    new Vector3i(treeCrownMin).add(width, crownHeight, width));
+            Vector3i treeTopMin = new Vector3i(treeMinimumPos).add((width - topCrownWidth) / 2,
+                    trunkHeight + crownHeight - 1, (width - topCrownWidth) / 2);
+            BlockRegion treeTop = new BlockRegion(treeTopMin,
+                    new Vector3i(treeTopMin).add(topCrownWidth, tree.getTopCrownHeight(), topCrownWidth));
+
+            Vector3i tmp = new Vector3i();
+            for (Vector3ic newBlockPosition : treeRegion) {
+                if (chunkRegion.getRegion().contains(newBlockPosition)) {
+                    if (treeTrunk.contains(newBlockPosition)) {
+                        chunk.setBlock(Chunks.toRelative(newBlockPosition, tmp), TestWorld.TRUNK);
+                    } else if (treeCrown.contains(newBlockPosition) || treeTop.contains(newBlockPosition)) {
+                        chunk.setBlock(Chunks.toRelative(newBlockPosition, tmp), TestWorld.LEAF);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void rasterizeBiomes(BiomeRegistry biomeRegistry, Region chunkRegion) {
+        ElevationFacet elevationFacet = chunkRegion.getFacet(ElevationFacet.class);
+        int seaLevel = chunkRegion.getFacet(SeaLevelFacet.class).getSeaLevel();
+        for (Vector3ic position : chunkRegion.getRegion()) {
+            float elevation = elevationFacet.getWorld(position.x(), position.z());
+            if (position.y() > Math.max(seaLevel, elevation) + 10) {
+                biomeRegistry.setBiome(TutorialBiome.SKY, position);
+            } else if (elevation + 1 > seaLevel) {
+                biomeRegistry.setBiome(TutorialBiome.LAND, position);
+            } else {
+                biomeRegistry.setBiome(TutorialBiome.WATER, position);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+
+import java.util.Arrays;
+
+/**
+ * A chunk of the engine's size which stores the blocks set by rasterizers in a plain array, so that it works without
+ * a block manager. Unset blocks are {@link TestWorld#AIR}.
+ */
+public final class TestChunk extends ChunkImpl {
+
+    private final BlockRegion region;
+    private final Vector3i position;
+    private final Block[] blocks = new Block[Chunks.SIZE_X * Chunks.SIZE_Y * Chunks.SIZE_Z];
+
+    /**
+     * @param position the position of the chunk, in chunks
+     */
+    public TestChunk(Vector3ic position) {
+        // the block manager is only used by the block accessors, which are overridden
+        super(position, null, new ExtraBlockDataManager());
+        this.position = new Vector3i(position);
+        this.region = TestWorld.chunkRegion(position.x(), position.y(), position.z());
+        Arrays.fill(blocks, TestWorld.AIR);
+    }
+
+    @Override
+    public Block getBlock(int x, int y, int z) {
+        return blocks[getIndex(x, y, z)];
+    }
+
+    @Override
+    public Block getBlock(Vector3ic pos) {
+        return getBlock(pos.x(), pos.y(), pos.z());
+    }
+
+    @Override
+    public Block setBlock(int x, int y, int z, Block block) {
+        int index = getIndex(x, y, z);
+        Block previous = blocks[index];
+        blocks[index] = block;
+        return previous;
+    }
+
+    @Override
+    public Block setBlock(Vector3ic pos, Block block) {
+        return setBlock(pos.x(), pos.y(), pos.z(), block);
+    }
+
+    @Override
+    public BlockRegionc getRegion() {
+        return region;
+    }
+
+    @Override
+    public Vector3ic getPosition() {
+        return position;
+    }
+
+    @Override
+    public Vector3i getPosition(Vector3i dest) {
+        return dest.set(position);
+    }
+
+    @Override
+    public int getChunkSizeX() {
+        return Chunks.SIZE_X;
+    }
+
+    @Override
+    public int getChunkSizeY() {
+        return Chunks.SIZE_Y;
+    }
+
+    @Override
+    public int getChunkSizeZ() {
+        return Chunks.SIZE_Z;
+    }
+
+    @Override
+    public String toString() {
+        return "TestChunk" + region;
+    }
+
+    private int getIndex(int x, int y, int z) {
+        if (x < 0 || x >= Chunks.SIZE_X || y < 0 || y >= Chunks.SIZE_Y || z < 0 || z >= Chunks.SIZE_Z) {
+            throw new IllegalArgumentException(String.format("Out of bounds: (%d, %d, %d)", x, y, z));
+        }
+        return x + Chunks.SIZE_X * (y + Chunks.SIZE_Y * z);
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.WorldFacet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A stand-in for the engine's region implementations, which need the whole facet provider chain of a world builder.
+ * It simply stores the facets set by the providers, all of which get the same border.
+ */
+public class TestRegion implements GeneratingRegion, Region {
+
+    private final BlockRegion region;
+    private final Border3D border;
+    private final Map<Class<? extends WorldFacet>, WorldFacet> facets = new HashMap<>();
+
+    public TestRegion(BlockRegion region, Border3D border) {
+        this.region = region;
+        this.border = border;
+    }
+
+    @Override
+    public BlockRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public <T extends WorldFacet> T getRegionFacet(Class<T> type) {
+        return type.cast(facets.get(type));
+    }
+
+    @Override
+    public <T extends WorldFacet> void setRegionFacet(Class<T> type, T facet) {
+        facets.put(type, facet);
+    }
+
+    @Override
+    public Border3D getBorderForFacet(Class<? extends WorldFacet> type) {
+        return border;
+    }
+
+    @Override
+    public <T extends WorldFacet> T getFacet(Class<T> type) {
+        return getRegionFacet(type);
+    }
+}
@@ -0,0 +1,213 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGeneration;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.biomesAPI.Biome;
+import org.terasology.biomesAPI.BiomeRegistry;
+import org.terasology.core.world.generator.facetProviders.SeaLevelProvider;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.WorldRasterizer;
+import org.terasology.tutorialWorldGenerationBiomes.BiomeColumnProvider;
+import org.terasology.tutorialWorldGenerationBiomes.BiomeRasterizer;
+import org.terasology.tutorialWorldGenerationLakes.LakesProvider;
+import org.terasology.tutorialWorldGenerationLakes.LakesRasterizer;
+import org.terasology.tutorialWorldGenerationMesas.MesaProvider;
+import org.terasology.tutorialWorldGenerationTrees.Tree;
+import org.terasology.tutorialWorldGenerationTrees.TreesProvider;
+import org.terasology.tutorialWorldGenerationTrees.TreesRasterizer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Builds the tutorial world with all plugins without an engine: regions filled by the facet providers, chunks that
+ * only store the blocks set by rasterizers, and rasterizers initialized with placeholder blocks.
+ */
+public final class TestWorld {
+
+    public static final long SEED = 0x5EED;
+
+    /**
+     * The border of all facets, larger than any border requested by the providers and rasterizers and than the reach
+     * of houses and trees into neighbouring chunks.
+     */
+    public static final Border3D BORDER = new Border3D(16, 16, 16);
+
+    public static final Block AIR = new Block();
+    public static final Block DIRT = new Block();
+    public static final Block GRASS = new Block();
+    public static final Block STONE = new Block();
+    public static final Block WATER = new Block();
+    public static final Block TRUNK = new Block();
+    public static final Block LEAF = new Block();
+
+    /**
+     * All placeholder blocks, whose index stands for the block in checksums.
+     */
+    public static final List<Block> BLOCKS = List.of(AIR, DIRT, GRASS, STONE, WATER, TRUNK, LEAF);
+
+    private TestWorld() {
+    }
+
+    /**
+     * @return the positions of a fixed set of chunks reaching from below the ground up into the sky, in chunks
+     */
+    public static List<Vector3ic> chunkPositions() {
+        List<Vector3ic> positions = new ArrayList<>();
+        for (int cy = -1; cy <= 2; cy++) {
+            for (int cz = -1; cz <= 1; cz++) {
+                for (int cx = -1; cx <= 1; cx++) {
+                    positions.add(new Vector3i(cx, cy, cz));
+                }
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * @return the blocks of the chunk at the given position, in chunks
+     */
+    public static BlockRegion chunkRegion(int cx, int cy, int cz) {
+        return new BlockRegion(cx * Chunks.SIZE_X, cy * Chunks.SIZE_Y, cz * Chunks.SIZE_Z,
+                (cx + 1) * Chunks.SIZE_X - 1, (cy + 1) * Chunks.SIZE_Y - 1, (cz + 1) * Chunks.SIZE_Z - 1);
+    }
+
+    /**
+     * @return the seeded providers of the tutorial world and its plugins, in the order the world builder runs them
+     */
+    public static List<FacetProvider> providers() {
+        List<FacetProvider> providers = new ArrayList<>();
+        providers.add(new SurfaceProvider());
+        providers.add(new SeaLevelProvider(0));
+        providers.add(new MountainsProvider());
+        providers.add(new LakesProvider());
+        providers.add(new MesaProvider());
+        providers.add(new ElevationEnvelopeProvider());
+        providers.add(new SurfacesProvider());
+        providers.add(new ColumnSurfacesProvider());
+        providers.add(new HouseProvider());
+        providers.add(new BiomeColumnProvider());
+        providers.add(new TreesProvider());
+        for (FacetProvider provider : providers) {
+            provider.setSeed(SEED);
+        }
+        return providers;
+    }
+
+    /**
+     * Runs the providers on the given region, in the given order.
+     */
+    public static TestRegion generate(List<FacetProvider> providers, BlockRegion region) {
+        TestRegion testRegion = new TestRegion(region, BORDER);
+        for (FacetProvider provider : providers) {
+            provider.process(testRegion);
+        }
+        return testRegion;
+    }
+
+    /**
+     * @return the rasterizers of the tutorial world and its plugins, set up with the placeholder blocks
+     */
+    public static List<WorldRasterizer> rasterizers(BiomeRegistry biomeRegistry) {
+        return List.of(terrainRasterizer(), houseRasterizer(), biomeRasterizer(biomeRegistry), lakesRasterizer(),
+                treesRasterizer());
+    }
+
+    public static TutorialWorldRasterizer terrainRasterizer() {
+        TutorialWorldRasterizer rasterizer = new TutorialWorldRasterizer();
+        inject(rasterizer, "dirt", DIRT);
+        inject(rasterizer, "grass", GRASS);
+        return rasterizer;
+    }
+
+    public static HouseRasterizer houseRasterizer() {
+        Block[] blocks = new Block[1];
+        blocks[House.WALL] = STONE;
+        HouseRasterizer rasterizer = new HouseRasterizer();
+        inject(rasterizer, "blocks", blocks);
+        return rasterizer;
+    }
+
+    public static BiomeRasterizer biomeRasterizer(BiomeRegistry biomeRegistry) {
+        BiomeRasterizer rasterizer = new BiomeRasterizer();
+        inject(rasterizer, "biomeRegistry", biomeRegistry);
+        return rasterizer;
+    }
+
+    public static LakesRasterizer lakesRasterizer() {
+        LakesRasterizer rasterizer = new LakesRasterizer();
+        inject(rasterizer, "water", WATER);
+        return rasterizer;
+    }
+
+    public static TreesRasterizer treesRasterizer() {
+        Block[] blocks = new Block[2];
+        blocks[Tree.TRUNK] = TRUNK;
+        blocks[Tree.LEAF] = LEAF;
+        TreesRasterizer rasterizer = new TreesRasterizer();
+        inject(rasterizer, "blocks", blocks);
+        return rasterizer;
+    }
+
+    /**
+     * Creates a biome registry that records the biome of each block in the given map.
+     */
+    public static BiomeRegistry recordingBiomeRegistry(Map<Vector3ic, Biome> biomes) {
+        return recordingBiomeRegistry(() -> biomes);
+    }
+
+    /**
+     * Creates a biome registry that records the biome of each block in the map currently given by the supplier, e.g.
+     * the map of the chunk the calling thread is generating.
+     */
+    public static BiomeRegistry recordingBiomeRegistry(Supplier<Map<Vector3ic, Biome>> biomes) {
+        return (BiomeRegistry) Proxy.newProxyInstance(BiomeRegistry.class.getClassLoader(),
+                new Class<?>[]{BiomeRegistry.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("setBiome") && args.length == 2 && args[1] instanceof Vector3ic) {
+                        // the rasterizers reuse their position vectors
+                        biomes.get().put(new Vector3i((Vector3ic) args[1]), (Biome) args[0]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.toString());
+                });
+    }
+
+    /**
+     * @return a checksum of all blocks of the chunk, which only depends on the placeholder blocks and their positions
+     */
+    public static long blockChecksum(TestChunk chunk) {
+        long checksum = 1;
+        for (int z = 0; z < Chunks.SIZE_Z; z++) {
+            for (int y = 0; y < Chunks.SIZE_Y; y++) {
+                for (int x = 0; x < Chunks.SIZE_X; x++) {
+                    checksum = 31 * checksum + BLOCKS.indexOf(chunk.getBlock(x, y, z));
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Sets a private field of a rasterizer, in place of its {@code initialize()} which needs the engine's registries.
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass(), e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.tutorialWorldGenerationZones;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.facets.ElevationFacet;
+import org.terasology.engine.world.zones.ZoneRegionFunction;
+import org.terasology.tutorialWorldGeneration.TestRegion;
+import org.terasology.tutorialWorldGeneration.TestWorld;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the column range zone functions with the per-block functions they replaced, which look up the elevation
+ * of the column for every single block.
+ */
+public class ColumnRangeZoneFunctionTest {
+
+    private static final int SEA_LEVEL = 32;
+
+    /**
+     * Elevations right at the bounds of the zones, which the random elevations would hardly ever hit.
+     */
+    private static final float[] EDGE_ELEVATIONS = {
+        SEA_LEVEL - 1, SEA_LEVEL - 0.5f, SEA_LEVEL, SEA_LEVEL + 0.5f, SEA_LEVEL + 2.99f, SEA_LEVEL + 3,
+        SEA_LEVEL + 3.01f,
+        MountainSurfaceProvider.MIN_MOUNTAIN_HEIGHT - 0.01f, MountainSurfaceProvider.MIN_MOUNTAIN_HEIGHT,
+        MountainSurfaceProvider.MIN_MOUNTAIN_HEIGHT + 0.5f, -0.5f, 0
+    };
+
+    private static final ZoneRegionFunction OCEAN = (x, y, z, region) ->
+            (int) Math.floor(region.getFacet(ElevationFacet.class).getWorld(x, z)) < y && y <= SEA_LEVEL;
+    private static final ZoneRegionFunction MOUNTAINS = (x, y, z, region) ->
+            y >= MountainSurfaceProvider.MIN_MOUNTAIN_HEIGHT
+                    && (int) Math.floor(region.getFacet(ElevationFacet.class).getWorld(x, z)) == y;
+    private static final ZoneRegionFunction BEACH = (x, y, z, region) ->
+            region.getFacet(ElevationFacet.class).getWorld(x, z) < SEA_LEVEL + 3;
+
+    @Test
+    public void testStandaloneFunctions() {
+        List<Region> regions = regions();
+        OceanZoneFunction ocean = new OceanZoneFunction(SEA_LEVEL);
+        MountainsZoneFunction mountains = new MountainsZoneFunction();
+        BeachZoneFunction beach = new BeachZoneFunction(SEA_LEVEL);
+        for (Region region : regions) {
+            assertSameBlocks(OCEAN, ocean, region);
+            assertSameBlocks(MOUNTAINS, mountains, region);
+            assertSameBlocks(BEACH, beach, region);
+        }
+    }
+
+    @Test
+    public void testTableFunctions() {
+        List<Region> regions = regions();
+        ZoneColumnTable table = new ZoneColumnTable();
+        OceanZoneFunction ocean = table.add(new OceanZoneFunction(SEA_LEVEL));
+        MountainsZoneFunction mountains = table.add(new MountainsZoneFunction());
+        BeachZoneFunction beach = table.add(new BeachZoneFunction(SEA_LEVEL));
+        for (Region region : regions) {
+            assertSameBlocks(OCEAN, ocean, region);
+            assertSameBlocks(MOUNTAINS, mountains, region);
+            assertSameBlocks(BEACH, beach, region);
+        }
+    }
+
+    /**
+     * The ranges have to tell that a zone is absent from a part of a region exactly when none of its blocks is in the
+     * zone, otherwise {@link ColumnRangeZone} would skip blocks of the zone.
+     */
+    @Test
+    public void testIntersects() {
+        OceanZoneFunction ocean = new OceanZoneFunction(SEA_LEVEL);
+        MountainsZoneFunction mountains = new MountainsZoneFunction();
+        BeachZoneFunction beach = new BeachZoneFunction(SEA_LEVEL);
+        for (Region region : regions()) {
+            BlockRegionc bounds = region.getRegion();
+            for (int minY = bounds.minY(); minY <= bounds.maxY(); minY += 8) {
+                for (int minZ = bounds.minZ(); minZ <= bounds.maxZ(); minZ += 8) {
+                    for (int minX = bounds.minX(); minX <= bounds.maxX(); minX += 8) {
+                        BlockRegion part = new BlockRegion(minX, minY, minZ, minX + 7, minY + 7, minZ + 7);
+                        assertSameIntersection(OCEAN, ocean, region, part);
+                        assertSameIntersection(MOUNTAINS, mountains, region, part);
+                        assertSameIntersection(BEACH, beach, region, part);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertSameBlocks(ZoneRegionFunction expected, ColumnRangeZoneFunction actual, Region region) {
+        BlockRegionc bounds = region.getRegion();
+        for (int z = bounds.minZ(); z <= bounds.maxZ(); z++) {
+            for (int y = bounds.minY(); y <= bounds.maxY(); y++) {
+                for (int x = bounds.minX(); x <= bounds.maxX(); x++) {
+                    if (expected.apply(x, y, z, region) != actual.apply(x, y, z, region)) {
+                        assertEquals(expected.apply(x, y, z, region), actual.apply(x, y, z, region),
+                                actual.getClass().getSimpleName() + " at (" + x + ", " + y + ", " + z + "), elevation "
+                                        + region.getFacet(ElevationFacet.class).getWorld(x, z));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertSameIntersection(ZoneRegionFunction expected, ColumnRangeZoneFunction actual,
+                                               Region region, BlockRegion part) {
+        boolean anyBlock = false;
+        for (int z = part.minZ(); z <= part.maxZ() && !anyBlock; z++) {
+            for (int y = part.minY(); y <= part.maxY() && !anyBlock; y++) {
+                for (int x = part.minX(); x <= part.maxX() && !anyBlock; x++) {
+                    anyBlock = expected.apply(x, y, z, region);
+                }
+            }
+        }
+        assertEquals(anyBlock, actual.getColumnRanges(region).intersects(part),
+                actual.getClass().getSimpleName() + " in " + part);
+    }
+
+    /**
+     * @return chunk sized regions from below the ground up to above the mountains, whose elevations are random with a
+     *         fixed seed, except for some columns right at the bounds of the zones
+     */
+    private static List<Region> regions() {
+        Random random = new Random(TestWorld.SEED);
+        List<Region> regions = new ArrayList<>();
+        for (int cy = -1; cy <= 2; cy++) {
+            BlockRegion bounds = TestWorld.chunkRegion(0, cy, 0);
+            TestRegion region = new TestRegion(bounds, new Border3D(0, 0, 0));
+            ElevationFacet elevationFacet = new ElevationFacet(bounds, new Border3D(0, 0, 0));
+            int column = 0;
+            for (int z = bounds.minZ(); z <= bounds.maxZ(); z++) {
+                for (int x = bounds.minX(); x <= bounds.maxX(); x++, column++) {
+                    float elevation = column < EDGE_ELEVATIONS.length
+                            ? EDGE_ELEVATIONS[column] : random.nextFloat() * 200 - 40;
+                    elevationFacet.setWorld(x, z, elevation);
+                }
+            }
+            region.setRegionFacet(ElevationFacet.class, elevationFacet);
+            regions.add(region);
+        }
+        return regions;
+    }
+}